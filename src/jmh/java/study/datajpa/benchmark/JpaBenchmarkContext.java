@@ -0,0 +1,89 @@
+package study.datajpa.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 내장 H2(in-memory) 위에 애플리케이션 컨텍스트를 띄우고 회원 데이터를 채운다.
+ * 캐시가 결과를 가리지 않도록 2차 캐시와 쿼리 캐시, SQL 로그는 끈다.
+ */
+@State(Scope.Benchmark)
+public class JpaBenchmarkContext {
+
+    public static final int TEAM_COUNT = 100;
+    public static final int MEMBER_COUNT = 10_000;
+    public static final int USERNAME_COUNT = 100;
+    public static final int AGE_COUNT = 50;
+
+    public ConfigurableApplicationContext context;
+    public MemberRepository memberRepository;
+    public EntityManager em;
+    public TransactionTemplate readOnlyTransaction;
+    public TransactionTemplate readWriteTransaction;
+    public TransactionTemplate rollbackTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "spring.jmx.enabled=false",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.root=warn")
+            .run();
+
+        memberRepository = context.getBean(MemberRepository.class);
+        em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        rollbackTransaction = new TransactionTemplate(transactionManager);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed());
+    }
+
+    private void seed() {
+        Team[] teams = new Team[TEAM_COUNT];
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams[i] = new Team("team" + i);
+            em.persist(teams[i]);
+        }
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            Member member = new Member("member" + (i % USERNAME_COUNT), i % AGE_COUNT);
+            member.setTeam(teams[i % TEAM_COUNT]);
+            em.persist(member);
+            if ((i + 1) % 1_000 == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,39 @@
+package study.datajpa.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import study.datajpa.entity.Member;
+
+/**
+ * 나이 25 이상 회원(절반)의 나이 + 1: JPQL 벌크 update vs 엔티티 하나씩 변경 감지.
+ * 매 호출을 롤백해서 데이터는 그대로 유지한다.
+ */
+public class MemberBulkUpdateBenchmark {
+
+    private static final int AGE = 25;
+
+    @Benchmark
+    public int bulkAgePlus(JpaBenchmarkContext context) {
+        return context.rollbackTransaction.execute(status -> {
+            status.setRollbackOnly();
+            return context.memberRepository.bulkAgePlus(AGE);
+        });
+    }
+
+    @Benchmark
+    public int perEntityUpdate(JpaBenchmarkContext context) {
+        return context.rollbackTransaction.execute(status -> {
+            status.setRollbackOnly();
+            List<Member> members = context.em.createQuery("select m from Member m where m.age >= :age", Member.class)
+                .setParameter("age", AGE)
+                .getResultList();
+            for (Member member : members) {
+                member.setAge(member.getAge() + 1);
+            }
+            context.em.flush();
+            return members.size();
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package study.datajpa.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberDtoQueryRepository;
+import study.datajpa.repository.MemberProjection;
+
+/**
+ * 회원 ROWS 건을 MemberDto(또는 같은 모양의 projection)로 읽는 방법별 비용.
+ * 결과는 행 단위(@OperationsPerInvocation)이므로 {@code -Pjmh.profilers=gc} 의 gc.alloc.rate.norm 이 행당 할당 바이트다.
+ */
+@State(Scope.Benchmark)
+@OperationsPerInvocation(MemberDtoMappingBenchmark.ROWS)
+public class MemberDtoMappingBenchmark {
+
+    static final int ROWS = 1_000;
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(0, ROWS);
+
+    private MemberDtoQueryRepository memberDtoQueryRepository;
+
+    @Setup(Level.Trial)
+    public void setUp(JpaBenchmarkContext context) {
+        memberDtoQueryRepository = context.context.getBean(MemberDtoQueryRepository.class);
+    }
+
+    @Benchmark
+    public void entityThenDto(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            List<Member> members = context.em.createQuery("select m from Member m left join fetch m.team", Member.class)
+                .setMaxResults(ROWS)
+                .getResultList();
+            members.forEach(member -> blackhole.consume(new MemberDto(member)));
+        });
+    }
+
+    @Benchmark
+    public void jpqlConstructorExpression(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> context.em.createQuery(
+                "select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t",
+                MemberDto.class)
+            .setMaxResults(ROWS)
+            .getResultList()
+            .forEach(blackhole::consume));
+    }
+
+    @Benchmark
+    public void interfaceProjection(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            for (MemberProjection projection : context.memberRepository.findSliceByNativeProjection(PAGE_REQUEST)) {
+                blackhole.consume(projection.getUsername());
+                blackhole.consume(projection.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void jdbcConstructorMapper(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status ->
+            memberDtoQueryRepository.findContent(PAGE_REQUEST).forEach(blackhole::consume));
+    }
+}
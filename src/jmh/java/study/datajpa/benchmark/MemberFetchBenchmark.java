@@ -0,0 +1,38 @@
+package study.datajpa.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import study.datajpa.entity.Member;
+
+/**
+ * 회원 전체 + 팀 이름 조회: 지연 로딩 vs fetch join vs @EntityGraph
+ */
+public class MemberFetchBenchmark {
+
+    @Benchmark
+    public void lazyTeamAccess(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status ->
+            consume(context.memberRepository.findMemberCustom(), blackhole));
+    }
+
+    @Benchmark
+    public void fetchJoin(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status ->
+            consume(context.memberRepository.findMemberFetchJoin(), blackhole));
+    }
+
+    @Benchmark
+    public void entityGraph(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status ->
+            consume(context.memberRepository.findMemberEntityGraph(), blackhole));
+    }
+
+    private static void consume(List<Member> members, Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(member.getTeam().getName());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.KeysetSlice;
+import study.datajpa.repository.MemberKeysetOrder;
+
+/**
+ * 같은 위치의 페이지를 OFFSET(Page), OFFSET(Slice), keyset 으로 읽는다.
+ * page 가 깊어질수록 OFFSET 은 느려지고 keyset 은 일정해야 한다.
+ */
+@State(Scope.Benchmark)
+public class MemberPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "50", "450"})
+    public int page;
+
+    private PageRequest pageRequest;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(JpaBenchmarkContext context) {
+        pageRequest = PageRequest.of(page, PAGE_SIZE, Sort.by("username", "id"));
+        cursor = context.readOnlyTransaction.execute(status -> {
+            String next = null;
+            for (int i = 0; i < page; i++) {
+                KeysetSlice<Member> slice = context.memberRepository.findAllByKeyset(MemberKeysetOrder.USERNAME, next, PAGE_SIZE);
+                next = slice.getNextCursor();
+            }
+            return next;
+        });
+    }
+
+    @Benchmark
+    public Page<Member> offsetPage(JpaBenchmarkContext context) {
+        return context.readOnlyTransaction.execute(status -> context.memberRepository.findAll(pageRequest));
+    }
+
+    @Benchmark
+    public Slice<Member> offsetSlice(JpaBenchmarkContext context) {
+        return context.readOnlyTransaction.execute(status -> context.memberRepository.findSliceBy(pageRequest));
+    }
+
+    @Benchmark
+    public KeysetSlice<Member> keyset(JpaBenchmarkContext context) {
+        return context.readOnlyTransaction.execute(status ->
+            context.memberRepository.findAllByKeyset(MemberKeysetOrder.USERNAME, cursor, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,73 @@
+package study.datajpa.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.NestedClosedProjections;
+import study.datajpa.repository.UsernameOnly;
+import study.datajpa.repository.UsernameOnlyDto;
+
+/**
+ * 같은 username 을 가진 회원 100명의 (이름, 팀 이름) 조회:
+ * JPQL DTO 생성자 vs 인터페이스 프로젝션 vs 엔티티 조회 후 변환.
+ * "이름 나이" 문자열은 열린 프로젝션(SpEL) vs select 절 concat 으로 비교한다.
+ */
+public class MemberProjectionBenchmark {
+
+    private static final String USERNAME = "member7";
+
+    @Benchmark
+    public void dtoProjection(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            List<MemberDto> result = context.memberRepository.findMemberDtoByUsername(USERNAME);
+            for (MemberDto dto : result) {
+                blackhole.consume(dto.getUsername());
+                blackhole.consume(dto.getTeamName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void interfaceProjection(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            List<NestedClosedProjections> result = context.memberRepository.findProjectionsByUsername(USERNAME);
+            for (NestedClosedProjections projection : result) {
+                blackhole.consume(projection.getUsername());
+                blackhole.consume(projection.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void entityLoad(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            List<Member> result = context.memberRepository.findEntityGraphByUsername(USERNAME);
+            for (Member member : result) {
+                blackhole.consume(member.getUsername());
+                blackhole.consume(member.getTeam().getName());
+            }
+        });
+    }
+
+    @Benchmark
+    public void openProjectionSpel(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            for (UsernameOnly projection : context.memberRepository.findProjectionsByUsername(USERNAME, UsernameOnly.class)) {
+                blackhole.consume(projection.getUsername());
+            }
+        });
+    }
+
+    @Benchmark
+    public void sqlConcatProjection(JpaBenchmarkContext context, Blackhole blackhole) {
+        context.readOnlyTransaction.executeWithoutResult(status -> {
+            for (UsernameOnlyDto dto : context.memberRepository.findUsernameOnlyByUsername(USERNAME)) {
+                blackhole.consume(dto.getUsername());
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.benchmark;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.entity.Member;
+
+/**
+ * 같은 조회를 읽기/쓰기 트랜잭션과 읽기 전용 트랜잭션에서 실행한다.
+ * 읽기/쓰기 트랜잭션은 로딩한 엔티티마다 스냅샷을 만들고 커밋 시 dirty checking 을 한다.
+ * 메모리 차이는 {@code ./gradlew jmh -Pjmh.includes=ReadOnlyTransactionBenchmark -Pjmh.profilers=gc} 로 실행해
+ * gc.alloc.rate.norm(호출당 할당 바이트)으로 비교한다.
+ */
+public class ReadOnlyTransactionBenchmark {
+
+    private static final PageRequest PAGE_REQUEST = PageRequest.of(1, 100, Sort.by("username", "id"));
+
+    @Benchmark
+    public void findAllReadWrite(JpaBenchmarkContext context, Blackhole blackhole) {
+        findAll(context.readWriteTransaction, context, blackhole);
+    }
+
+    @Benchmark
+    public void findAllReadOnly(JpaBenchmarkContext context, Blackhole blackhole) {
+        findAll(context.readOnlyTransaction, context, blackhole);
+    }
+
+    @Benchmark
+    public void pageReadWrite(JpaBenchmarkContext context, Blackhole blackhole) {
+        page(context.readWriteTransaction, context, blackhole);
+    }
+
+    @Benchmark
+    public void pageReadOnly(JpaBenchmarkContext context, Blackhole blackhole) {
+        page(context.readOnlyTransaction, context, blackhole);
+    }
+
+    private static void findAll(TransactionTemplate transaction, JpaBenchmarkContext context, Blackhole blackhole) {
+        transaction.executeWithoutResult(status -> consume(context.memberRepository.findAll(), blackhole));
+    }
+
+    private static void page(TransactionTemplate transaction, JpaBenchmarkContext context, Blackhole blackhole) {
+        transaction.executeWithoutResult(status ->
+            consume(context.memberRepository.findByAge(10, PAGE_REQUEST).getContent(), blackhole));
+    }
+
+    private static void consume(List<Member> members, Blackhole blackhole) {
+        for (Member member : members) {
+            blackhole.consume(member.getUsername());
+        }
+    }
+}
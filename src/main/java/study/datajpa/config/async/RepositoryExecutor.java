@@ -0,0 +1,49 @@
+package study.datajpa.config.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 비동기 리포지토리 조회 전용 스레드 풀.
+ * 동시에 DB 를 쓰는 작업은 maxConcurrency 개로 묶이고(bulkhead), 대기열이 가득 차면 즉시 거절한다.
+ * maxConcurrency 는 커넥션 풀 크기보다 작게 두어 동기 요청이 쓸 커넥션을 남긴다.
+ * Executor 타입 빈으로 등록하면 Spring Boot 의 applicationTaskExecutor 자동 설정이 빠지므로 감싸서 노출한다.
+ */
+public class RepositoryExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor delegate = new ThreadPoolTaskExecutor();
+
+    public RepositoryExecutor(int maxConcurrency, int queueCapacity) {
+        delegate.setCorePoolSize(maxConcurrency);
+        delegate.setMaxPoolSize(maxConcurrency);
+        delegate.setQueueCapacity(queueCapacity);
+        delegate.setThreadNamePrefix("repository-");
+        delegate.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        delegate.setWaitForTasksToCompleteOnShutdown(true);
+        delegate.setAwaitTerminationSeconds(30);
+        delegate.initialize();
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, delegate);
+    }
+
+    /**
+     * @throws java.util.concurrent.RejectedExecutionException 대기열이 가득 찬 경우
+     */
+    public CompletableFuture<Void> runAsync(Runnable task) {
+        return CompletableFuture.runAsync(task, delegate);
+    }
+
+    @Override
+    public void destroy() {
+        delegate.shutdown();
+    }
+}
@@ -0,0 +1,15 @@
+package study.datajpa.config.async;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RepositoryExecutorConfig {
+
+    @Bean
+    public RepositoryExecutor repositoryExecutor(@Value("${repository.async.max-concurrency:8}") int maxConcurrency,
+                                                 @Value("${repository.async.queue-capacity:100}") int queueCapacity) {
+        return new RepositoryExecutor(maxConcurrency, queueCapacity);
+    }
+}
@@ -0,0 +1,81 @@
+package study.datajpa.config.datasource;
+
+import java.time.Duration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * datasource-routing.enabled=true 이면 spring.datasource 를 primary 로, datasource-routing.replica 를 replica 로 쓴다.
+ * 두 풀은 빈으로 등록하지 않는다. 빈으로 두면 P6Spy 가 각각을 또 감싸 SQL 이 두 번 집계된다.
+ * replica.url 을 비워 두면 primary 와 같은 DB 를 보는 별도 풀을 만든다 (로컬 replica 대용).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicationLagGuard replicationLagGuard(@Value("${datasource-routing.read-your-writes-window:2s}") Duration window) {
+        return new ReplicationLagGuard(window);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicationLagGuard replicationLagGuard) {
+        return new ReadYourWritesFilter(replicationLagGuard);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                                 ReplicationLagGuard replicationLagGuard) {
+        Binder binder = Binder.get(environment);
+        String replicaUrl = environment.getProperty("datasource-routing.replica.url");
+        String replicaUsername = environment.getProperty("datasource-routing.replica.username");
+        String replicaPassword = environment.getProperty("datasource-routing.replica.password");
+
+        HikariDataSource primary = pool(properties, binder, "primary",
+            properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        HikariDataSource replica = pool(properties, binder, "replica",
+            StringUtils.hasText(replicaUrl) ? replicaUrl : properties.determineUrl(),
+            replicaUsername != null ? replicaUsername : properties.determineUsername(),
+            replicaPassword != null ? replicaPassword : properties.determinePassword());
+        binder.bind("datasource-routing.replica.hikari", Bindable.ofInstance(replica));
+        replica.setReadOnly(true);
+
+        return new ReadWriteRoutingDataSource(primary, replica, replicationLagGuard);
+    }
+
+    /**
+     * 커넥션을 트랜잭션마다 새로 얻어야 트랜잭션마다 라우팅된다.
+     * 기본값(트랜잭션이 끝나도 커넥션 유지)이면 open-in-view 요청 안에서 처음 고른 쪽을 끝까지 쓴다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, String name,
+                                         String url, String username, String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.config.datasource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 replica 로, 그 밖의 트랜잭션과 트랜잭션 밖의 호출은 primary 로 보낸다.
+ * <p>
+ * 트랜잭션 매니저는 트랜잭션 시작 시 커넥션을 먼저 얻고 나서 readOnly 표시를 하므로, 실제 커넥션은 첫 SQL 을 실행할 때
+ * 고르도록 {@link LazyConnectionDataSourceProxy} 로 감싼다.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagGuard guard) {
+        this.primary = primary;
+        this.replica = replica;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return currentRoute(guard);
+            }
+        };
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    public static Route currentRoute(ReplicationLagGuard guard) {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && !guard.requiresPrimary() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeIfPossible(replica);
+        } finally {
+            closeIfPossible(primary);
+        }
+    }
+
+    private static void closeIfPossible(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.config.datasource;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 세션에 남긴 마지막 쓰기 시각을 요청 스레드의 {@link ReplicationLagGuard} 로 옮기고, 요청 중 쓰기가 있으면 다시 세션에 저장한다.
+ * 세션이 없는 요청은 읽기만 했다면 세션을 만들지 않는다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_AT = ReadYourWritesFilter.class.getName() + ".LAST_WRITE_AT";
+
+    private final ReplicationLagGuard guard;
+
+    public ReadYourWritesFilter(ReplicationLagGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        Long before = session == null ? null : (Long) session.getAttribute(LAST_WRITE_AT);
+        guard.restore(before);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Long after = guard.lastWriteAt();
+            // 응답이 이미 커밋됐으면 세션 쿠키를 보낼 수 없으므로 기존 세션에만 기록한다.
+            if (after != null && !after.equals(before)) {
+                HttpSession current = request.getSession(!response.isCommitted());
+                if (current != null) {
+                    current.setAttribute(LAST_WRITE_AT, after);
+                }
+            }
+            guard.clear();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.config.datasource;
+
+import java.time.Duration;
+
+import study.datajpa.config.jpa.TableWriteListener;
+
+/**
+ * 마지막 쓰기 이후 window 동안은 읽기 전용 트랜잭션도 primary 로 보내 방금 쓴 데이터를 읽을 수 있게 한다.
+ * 쓰기 시각은 현재 스레드에 보관하며, HTTP 요청 사이에는 {@link ReadYourWritesFilter} 가 세션으로 이어준다.
+ */
+public class ReplicationLagGuard implements TableWriteListener {
+
+    private final ThreadLocal<Long> lastWriteAt = new ThreadLocal<>();
+    private final long windowMillis;
+
+    public ReplicationLagGuard(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public void onTableWrite(String table) {
+        lastWriteAt.set(System.currentTimeMillis());
+    }
+
+    public boolean requiresPrimary() {
+        Long writtenAt = lastWriteAt.get();
+        return writtenAt != null && System.currentTimeMillis() - writtenAt < windowMillis;
+    }
+
+    public Long lastWriteAt() {
+        return lastWriteAt.get();
+    }
+
+    public void restore(Long writtenAt) {
+        if (writtenAt == null) {
+            lastWriteAt.remove();
+        } else {
+            lastWriteAt.set(writtenAt);
+        }
+    }
+
+    public void clear() {
+        lastWriteAt.remove();
+    }
+}
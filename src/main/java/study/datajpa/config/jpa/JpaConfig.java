@@ -0,0 +1,65 @@
+package study.datajpa.config.jpa;
+
+import java.time.Duration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import study.datajpa.entity.IdAllocation;
+import study.datajpa.repository.QueryCacheRegions;
+
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    public TableWriteStatementInspector tableWriteStatementInspector(ObjectProvider<TableWriteListener> listeners) {
+        return new TableWriteStatementInspector(listeners);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(TableWriteStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /**
+     * 시퀀스 블록 크기를 Hibernate 에 넘기고, JDBC 배치 크기를 따로 지정하지 않았으면 같은 값으로 맞춘다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationCustomizer(
+        @Value("${id-allocation.block-size:" + IdAllocation.DEFAULT_BLOCK_SIZE + "}") int blockSize) {
+        return properties -> {
+            properties.put(IdAllocation.BLOCK_SIZE_SETTING, blockSize);
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, blockSize);
+        };
+    }
+
+    @Bean
+    public QueryCacheMetrics queryCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        return new QueryCacheMetrics(sessionFactory.getStatistics(), QueryCacheRegions.ALL);
+    }
+
+    @Bean
+    public OptimisticLockRetryExecutor optimisticLockRetryExecutor(PlatformTransactionManager transactionManager,
+                                                                   MeterRegistry registry,
+                                                                   @Value("${optimistic-lock.retry.max-retries:4}") int maxRetries,
+                                                                   @Value("${optimistic-lock.retry.initial-backoff:10ms}") Duration initialBackoff,
+                                                                   @Value("${optimistic-lock.retry.multiplier:2.0}") double multiplier,
+                                                                   @Value("${optimistic-lock.retry.max-backoff:200ms}") Duration maxBackoff) {
+        ExponentialBackOff backOff = new ExponentialBackOff(initialBackoff.toMillis(), multiplier);
+        backOff.setMaxInterval(maxBackoff.toMillis());
+        backOff.setMaxAttempts(maxRetries);
+        return new OptimisticLockRetryExecutor(transactionManager, backOff, registry);
+    }
+}
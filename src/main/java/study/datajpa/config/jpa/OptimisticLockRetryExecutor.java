@@ -0,0 +1,81 @@
+package study.datajpa.config.jpa;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import jakarta.persistence.OptimisticLockException;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시도마다 새 트랜잭션에서 work 를 실행하고, @Version 충돌이면 backOff 만큼 기다렸다가 다시 시도한다.
+ * 비관적 락(PESSIMISTIC_WRITE) 대신 충돌이 드문 행 갱신에 사용한다.
+ * <p>
+ * 엔티티별로 optimistic.lock.attempts / conflicts / retries / exhausted 카운터를 남긴다. conflicts / attempts 가 충돌률이다.
+ */
+@Slf4j
+public class OptimisticLockRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final BackOff backOff;
+    private final MeterRegistry registry;
+
+    public OptimisticLockRetryExecutor(PlatformTransactionManager transactionManager, BackOff backOff, MeterRegistry registry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backOff = backOff;
+        this.registry = registry;
+    }
+
+    /**
+     * 바깥 트랜잭션 안에서 호출하면 재시도해도 같은 영속성 컨텍스트의 오래된 엔티티를 다시 쓰게 되므로 허용하지 않는다.
+     */
+    public <T> T execute(Class<?> entityType, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("재시도는 트랜잭션 밖에서 시작해야 합니다.");
+        }
+        String entity = entityType.getSimpleName();
+        BackOffExecution backOffExecution = backOff.start();
+
+        while (true) {
+            increment("optimistic.lock.attempts", entity);
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                increment("optimistic.lock.conflicts", entity);
+                long backOffMillis = backOffExecution.nextBackOff();
+                if (backOffMillis == BackOffExecution.STOP) {
+                    increment("optimistic.lock.exhausted", entity);
+                    throw e;
+                }
+                increment("optimistic.lock.retries", entity);
+                log.debug("{} 버전 충돌, {}ms 후 재시도", entity, backOffMillis);
+                sleep(backOffMillis);
+            }
+        }
+    }
+
+    private void increment(String name, String entity) {
+        registry.counter(name, "entity", entity).increment();
+    }
+
+    // 같은 시점에 충돌한 요청들이 다시 동시에 부딪히지 않도록 [backOff/2, backOff] 사이에서 기다린다.
+    private static void sleep(long backOffMillis) {
+        if (backOffMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backOffMillis / 2, backOffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재시도 대기 중 중단되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package study.datajpa.config.jpa;
+
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 쿼리 결과 캐시 region 별 hit / miss / put 과 적중률을 노출한다.
+ * 쿼리 region 은 처음 사용할 때 만들어지므로 Hibernate 기본 바인더가 잡지 못해 이름을 받아서 등록한다.
+ */
+public class QueryCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final Collection<String> regions;
+
+    public QueryCacheMetrics(Statistics statistics, Collection<String> regions) {
+        this.statistics = statistics;
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            counter(registry, region, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, region, "miss", CacheRegionStatistics::getMissCount);
+            counter(registry, region, "put", CacheRegionStatistics::getPutCount);
+            Gauge.builder("hibernate.query.cache.hit.ratio", this, metrics -> metrics.hitRatio(region))
+                .tag("region", region)
+                .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String region, String result, ToLongFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder("hibernate.query.cache.requests", this, metrics -> {
+                CacheRegionStatistics regionStatistics = metrics.statistics.getQueryRegionStatistics(region);
+                return regionStatistics == null ? 0 : value.applyAsLong(regionStatistics);
+            })
+            .tag("region", region)
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private double hitRatio(String region) {
+        CacheRegionStatistics regionStatistics = statistics.getQueryRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+}
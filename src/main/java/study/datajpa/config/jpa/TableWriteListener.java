@@ -0,0 +1,10 @@
+package study.datajpa.config.jpa;
+
+/**
+ * insert / update / delete / merge 문이 실행된 테이블을 통지받는다.
+ * JPQL 벌크 연산과 네이티브 쿼리도 SQL 기준으로 감지된다.
+ */
+public interface TableWriteListener {
+
+    void onTableWrite(String table);
+}
@@ -0,0 +1,108 @@
+package study.datajpa.config.jpa;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hibernate 가 실행하는 모든 SQL 을 보고 쓰기 대상 테이블을 {@link TableWriteListener} 에 알린다.
+ * 트랜잭션 안이라면 커밋(롤백) 이후에 한 번 더 알려서, 그 사이에 다른 트랜잭션이 채운 캐시도 비운다.
+ */
+public class TableWriteStatementInspector implements StatementInspector {
+
+    private static final Object PENDING_KEY = new Object();
+
+    private final ObjectProvider<TableWriteListener> listenerProvider;
+    private volatile List<TableWriteListener> listeners;
+
+    public TableWriteStatementInspector(ObjectProvider<TableWriteListener> listenerProvider) {
+        this.listenerProvider = listenerProvider;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String table = writeTable(sql);
+        if (table != null) {
+            publish(table);
+            publishAfterCompletion(table);
+        }
+        return sql;
+    }
+
+    static String writeTable(String sql) {
+        String trimmed = sql.stripLeading();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        char first = Character.toLowerCase(trimmed.charAt(0));
+        if (first != 'i' && first != 'u' && first != 'd' && first != 'm') {
+            return null;
+        }
+        String[] tokens = trimmed.split("\\s+", 4);
+        String command = tokens[0].toLowerCase(Locale.ROOT);
+        if (command.equals("update") && tokens.length > 1) {
+            return tableName(tokens[1]);
+        }
+        if ((command.equals("insert") || command.equals("merge") || command.equals("delete")) && tokens.length > 2) {
+            return tableName(tokens[2]);
+        }
+        return null;
+    }
+
+    private static String tableName(String token) {
+        String name = token;
+        int paren = name.indexOf('(');
+        if (paren >= 0) {
+            name = name.substring(0, paren);
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            name = name.substring(dot + 1);
+        }
+        return name.replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+
+    private void publish(String table) {
+        for (TableWriteListener listener : listeners()) {
+            listener.onTableWrite(table);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publishAfterCompletion(String table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(PENDING_KEY);
+        if (pending == null) {
+            Set<String> tables = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_KEY, tables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_KEY);
+                    tables.forEach(TableWriteStatementInspector.this::publish);
+                }
+            });
+            pending = tables;
+        }
+        pending.add(table);
+    }
+
+    private List<TableWriteListener> listeners() {
+        List<TableWriteListener> result = listeners;
+        if (result == null) {
+            result = listenerProvider.orderedStream().toList();
+            if (!result.isEmpty()) {
+                listeners = result;
+            }
+        }
+        return result;
+    }
+}
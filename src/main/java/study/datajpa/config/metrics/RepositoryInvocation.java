@@ -0,0 +1,33 @@
+package study.datajpa.config.metrics;
+
+import lombok.Getter;
+
+/**
+ * 레포지토리 메서드 호출 한 번 동안 현재 스레드에서 발생한 SQL 실행, 엔티티 로딩, 컬렉션 초기화 수
+ */
+@Getter
+public class RepositoryInvocation {
+
+    private final String repository;
+    private final String method;
+    private long statements;
+    private long entitiesLoaded;
+    private long collectionsInitialized;
+
+    RepositoryInvocation(String repository, String method) {
+        this.repository = repository;
+        this.method = method;
+    }
+
+    void statementExecuted() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entitiesLoaded++;
+    }
+
+    void collectionInitialized() {
+        collectionsInitialized++;
+    }
+}
@@ -0,0 +1,70 @@
+package study.datajpa.config.metrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * 현재 스레드에서 진행 중인 {@link RepositoryInvocation} 들. 레포지토리가 다른 레포지토리를 호출하면 바깥 호출에도 함께 더한다.
+ * 진행 중인 호출이 없으면 아무것도 하지 않는다.
+ */
+public final class RepositoryInvocations {
+
+    private static final ThreadLocal<Deque<RepositoryInvocation>> INVOCATIONS = new ThreadLocal<>();
+
+    private RepositoryInvocations() {
+    }
+
+    static RepositoryInvocation open(String repository, String method) {
+        Deque<RepositoryInvocation> invocations = INVOCATIONS.get();
+        if (invocations == null) {
+            invocations = new ArrayDeque<>();
+            INVOCATIONS.set(invocations);
+        }
+        RepositoryInvocation invocation = new RepositoryInvocation(repository, method);
+        invocations.push(invocation);
+        return invocation;
+    }
+
+    static void close(RepositoryInvocation invocation) {
+        Deque<RepositoryInvocation> invocations = INVOCATIONS.get();
+        if (invocations == null) {
+            return;
+        }
+        invocations.remove(invocation);
+        if (invocations.isEmpty()) {
+            INVOCATIONS.remove();
+        }
+    }
+
+    /**
+     * 가장 안쪽에서 진행 중인 레포지토리 메서드 ("MemberRepository.findById"). 진행 중인 호출이 없으면 null.
+     */
+    public static String current() {
+        Deque<RepositoryInvocation> invocations = INVOCATIONS.get();
+        if (invocations == null) {
+            return null;
+        }
+        RepositoryInvocation invocation = invocations.peek();
+        return invocation.getRepository() + "." + invocation.getMethod();
+    }
+
+    public static void statementExecuted() {
+        forEachOpen(RepositoryInvocation::statementExecuted);
+    }
+
+    static void entityLoaded() {
+        forEachOpen(RepositoryInvocation::entityLoaded);
+    }
+
+    static void collectionInitialized() {
+        forEachOpen(RepositoryInvocation::collectionInitialized);
+    }
+
+    private static void forEachOpen(Consumer<RepositoryInvocation> action) {
+        Deque<RepositoryInvocation> invocations = INVOCATIONS.get();
+        if (invocations != null) {
+            invocations.forEach(action);
+        }
+    }
+}
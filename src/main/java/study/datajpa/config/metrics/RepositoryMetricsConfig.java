@@ -0,0 +1,42 @@
+package study.datajpa.config.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 모든 Spring Data 레포지토리 프록시에 {@link RepositoryMetricsInterceptor} 를 붙인다.
+ * 결과는 /actuator/metrics/repository.invocation.* 에서 repository, method 태그로 조회한다.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 선언하고 MeterRegistry 는 호출 시점에 찾는다.
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    // ExposeInvocationInterceptor 바로 뒤, 트랜잭션 인터셉터보다 바깥에 두어 커밋 시점의 flush 도 포함한다.
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(1, new RepositoryMetricsInterceptor(
+                                repositoryInformation.getRepositoryInterface(), registryProvider))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernateLoadEventCounter hibernateLoadEventCounter(EntityManagerFactory entityManagerFactory) {
+        return new HibernateLoadEventCounter(entityManagerFactory);
+    }
+}
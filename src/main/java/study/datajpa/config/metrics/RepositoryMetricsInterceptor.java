@@ -0,0 +1,109 @@
+package study.datajpa.config.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import study.datajpa.repository.KeysetSlice;
+
+/**
+ * 레포지토리 메서드별로 호출 한 번에 실행된 SQL 수, 로딩된 엔티티 수, 초기화된 컬렉션 수, 반환 건수를 기록한다.
+ * 호출 수와 지연 시간은 Spring Boot 의 spring.data.repository.invocations 타이머가 같은 태그(repository, method)로 남긴다.
+ * <p>
+ * Stream 을 반환하는 메서드는 소비가 호출이 끝난 뒤에 일어나므로 반환 건수를 기록하지 않고, SQL / 엔티티 수도 첫 쿼리까지만 잡힌다.
+ */
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsInterceptor(Class<?> repositoryInterface, ObjectProvider<MeterRegistry> registryProvider) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryInvocation counters = RepositoryInvocations.open(repository, invocation.getMethod().getName());
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            RepositoryInvocations.close(counters);
+            MethodMeters methodMeters = metersFor(invocation.getMethod());
+            if (methodMeters != null) {
+                methodMeters.record(counters, result);
+            }
+        }
+    }
+
+    private MethodMeters metersFor(Method method) {
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return meters.computeIfAbsent(method, key -> new MethodMeters(registry, repository, key.getName()));
+    }
+
+    private static class MethodMeters {
+
+        private final DistributionSummary statements;
+        private final DistributionSummary entitiesLoaded;
+        private final DistributionSummary collectionsInitialized;
+        private final DistributionSummary results;
+
+        MethodMeters(MeterRegistry registry, String repository, String method) {
+            this.statements = summary(registry, "repository.invocation.statements", repository, method);
+            this.entitiesLoaded = summary(registry, "repository.invocation.entities.loaded", repository, method);
+            this.collectionsInitialized = summary(registry, "repository.invocation.collections.initialized", repository, method);
+            this.results = summary(registry, "repository.invocation.results", repository, method);
+        }
+
+        void record(RepositoryInvocation counters, Object result) {
+            statements.record(counters.getStatements());
+            entitiesLoaded.record(counters.getEntitiesLoaded());
+            collectionsInitialized.record(counters.getCollectionsInitialized());
+            if (!(result instanceof BaseStream<?, ?>)) {
+                results.record(resultSize(result));
+            }
+        }
+
+        private static long resultSize(Object result) {
+            if (result == null) {
+                return 0;
+            }
+            if (result instanceof Collection<?> collection) {
+                return collection.size();
+            }
+            if (result instanceof Slice<?> slice) {
+                return slice.getNumberOfElements();
+            }
+            if (result instanceof KeysetSlice<?> slice) {
+                return slice.getContent().size();
+            }
+            if (result instanceof Optional<?> optional) {
+                return optional.isPresent() ? 1 : 0;
+            }
+            return 1;
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String name, String repository, String method) {
+            return DistributionSummary.builder(name)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+        }
+    }
+}
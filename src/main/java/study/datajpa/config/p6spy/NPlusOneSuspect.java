@@ -0,0 +1,22 @@
+package study.datajpa.config.p6spy;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 한 범위 안에서 같은 모양의 select 가 반복 실행된 기록.
+ */
+@Getter
+@ToString
+public class NPlusOneSuspect {
+
+    private final String fingerprint;
+    private final int count;
+    private final String caller;
+
+    public NPlusOneSuspect(String fingerprint, int count, String caller) {
+        this.fingerprint = fingerprint;
+        this.count = count;
+        this.caller = caller;
+    }
+}
@@ -1,5 +1,7 @@
 package study.datajpa.config.p6spy;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,8 +11,22 @@ import org.springframework.context.annotation.Profile;
 public class P6SpyConfig {
 
     @Bean
-    public P6SpyEventListener p6SpyCustomEventListener() {
-        return new P6SpyEventListener();
+    public SqlCaptureReporter sqlCaptureReporter(@Value("${sql-capture.n-plus-one-threshold:5}") int nPlusOneThreshold,
+                                                 @Value("${sql-capture.statement-budget:0}") int statementBudget,
+                                                 @Value("${sql-capture.fail-on-violation:false}") boolean failOnViolation) {
+        return new SqlCaptureReporter(nPlusOneThreshold, statementBudget, failOnViolation);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sql-capture", name = "enabled", havingValue = "true")
+    public SqlCaptureFilter sqlCaptureFilter(SqlCaptureReporter sqlCaptureReporter) {
+        return new SqlCaptureFilter(sqlCaptureReporter);
+    }
+
+    @Bean
+    public P6SpyEventListener p6SpyCustomEventListener(SqlCaptureReporter sqlCaptureReporter,
+                                                       @Value("${sql-capture.enabled:false}") boolean captureEnabled) {
+        return new P6SpyEventListener(sqlCaptureReporter, captureEnabled);
     }
 
     @Bean
@@ -2,15 +2,78 @@ package study.datajpa.config.p6spy;
 
 import java.sql.SQLException;
 
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
 import com.p6spy.engine.event.JdbcEventListener;
 import com.p6spy.engine.spy.P6SpyOptions;
 
 public class P6SpyEventListener extends JdbcEventListener {
 
+    private final SqlCaptureReporter reporter;
+    private final boolean captureTransactions;
+    private volatile boolean formatApplied;
+
+    /**
+     * @param captureTransactions 열린 범위가 없을 때 트랜잭션마다 범위를 열어 집계한다 (sql-capture.enabled).
+     */
+    public P6SpyEventListener(SqlCaptureReporter reporter, boolean captureTransactions) {
+        this.reporter = reporter;
+        this.captureTransactions = captureTransactions;
+    }
+
+    /**
+     * 포맷 설정은 옵션 저장소를 갱신하면서 포매터를 리플렉션으로 새로 만든다.
+     * 커넥션을 얻을 때마다 반복하지 않도록 처음 한 번만 적용한다.
+     */
     @Override
     public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
-        P6SpyOptions.getActiveInstance().setLogMessageFormat(P6SpyFormatter.class.getName());
+        if (!formatApplied) {
+            P6SpyOptions.getActiveInstance().setLogMessageFormat(P6SpyFormatter.class.getName());
+            formatApplied = true;
+        }
     }
-}
 
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (captureTransactions && !SqlCapture.isCapturing() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            openTransactionScope();
+        }
+        SqlCapture.record(statementInformation.getSql());
+    }
+
+    /**
+     * 요청 범위 밖(배치, 스케줄러 등)에서는 트랜잭션 하나를 집계 범위로 삼는다.
+     * afterCompletion 에서 던진 예외는 Spring 이 로그만 남기므로, 위반 여부는 커밋 직전(beforeCommit)에 확인해
+     * 커밋을 실패시킨다. 롤백된 트랜잭션(@Transactional 테스트 포함)과 커밋 중 flush 로 생긴 위반은 기록해 둔다.
+     */
+    private void openTransactionScope() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        SqlCaptureScope scope = SqlCapture.open(name == null ? "transaction" : name);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private boolean failedBeforeCommit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                try {
+                    reporter.verify(scope);
+                } catch (SqlStatementBudgetExceededException e) {
+                    failedBeforeCommit = true;
+                    throw e;
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                scope.close();
+                if (failedBeforeCommit) {
+                    return;
+                }
+                reporter.reportLater(scope);
+            }
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package study.datajpa.config.p6spy;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import study.datajpa.config.metrics.RepositoryInvocations;
+
+/**
+ * 현재 스레드에 열린 {@link SqlCaptureScope} 들에 실행된 SQL 을 기록한다.
+ * 열린 범위가 없으면 fingerprint 계산도, 호출 위치 추적도 하지 않는다.
+ * 범위는 테스트 코드가 직접 열거나, sql-capture.enabled 일 때 HTTP 요청 / 트랜잭션마다 자동으로 열린다.
+ */
+public final class SqlCapture {
+
+    private static final ThreadLocal<Deque<SqlCaptureScope>> SCOPES = new ThreadLocal<>();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final String APPLICATION_PACKAGE = "study.datajpa.";
+    private static final String CONFIG_PACKAGE = "study.datajpa.config.";
+
+    private SqlCapture() {
+    }
+
+    public static SqlCaptureScope open(String name) {
+        Deque<SqlCaptureScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlCaptureScope scope = new SqlCaptureScope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    public static boolean isCapturing() {
+        return SCOPES.get() != null;
+    }
+
+    static void record(String sql) {
+        Deque<SqlCaptureScope> scopes = SCOPES.get();
+        if (scopes == null || sql == null || sql.isBlank()) {
+            return;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        String caller = caller();
+        for (SqlCaptureScope scope : scopes) {
+            scope.record(fingerprint, caller);
+        }
+    }
+
+    static void close(SqlCaptureScope scope) {
+        Deque<SqlCaptureScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        scopes.remove(scope);
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    /**
+     * SQL 을 일으킨 레포지토리 메서드 ("MemberRepository.findById").
+     * 레포지토리 호출 밖에서 실행된 SQL(지연 로딩 등)은 스택에서 찾은 애플리케이션 코드 위치로, 연관 엔티티에 처음 접근한 줄이 된다.
+     */
+    private static String caller() {
+        String repositoryMethod = RepositoryInvocations.current();
+        if (repositoryMethod != null) {
+            return repositoryMethod;
+        }
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+            .filter(frame -> !frame.getClassName().startsWith(CONFIG_PACKAGE))
+            .filter(frame -> !isProxy(frame.getClassName()))
+            .findFirst()
+            .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .orElse("unknown"));
+    }
+
+    private static boolean isProxy(String className) {
+        return className.contains("$$") || className.contains("$HibernateProxy$");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.config.p6spy;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * HTTP 요청 하나를 SQL 집계 범위로 묶는다.
+ */
+public class SqlCaptureFilter extends OncePerRequestFilter {
+
+    private final SqlCaptureReporter reporter;
+
+    public SqlCaptureFilter(SqlCaptureReporter reporter) {
+        this.reporter = reporter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        SqlCaptureScope scope = SqlCapture.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+        reporter.report(scope);
+    }
+}
@@ -0,0 +1,91 @@
+package study.datajpa.config.p6spy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 범위가 끝날 때 N+1 의심 SQL 과 SQL 실행 횟수 초과를 알린다.
+ * failOnViolation 이 켜져 있으면 (테스트 환경) 경고 대신 예외를 던진다.
+ * 예외를 던져도 호출자에게 전달되지 않는 시점(트랜잭션 완료 후)의 위반은 {@link #takeViolations()} 로 꺼내 확인한다.
+ */
+@Slf4j
+public class SqlCaptureReporter {
+
+    private static final int MAX_RECORDED_VIOLATIONS = 100;
+
+    private final int nPlusOneThreshold;
+    private final int statementBudget;
+    private final boolean failOnViolation;
+    private final Queue<SqlStatementBudgetExceededException> violations = new ConcurrentLinkedQueue<>();
+
+    public SqlCaptureReporter(int nPlusOneThreshold, int statementBudget, boolean failOnViolation) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.statementBudget = statementBudget;
+        this.failOnViolation = failOnViolation;
+    }
+
+    /**
+     * 경고를 남기고, failOnViolation 이면 위반 시 예외를 던진다.
+     */
+    public void report(SqlCaptureScope scope) {
+        warn(scope);
+        verify(scope);
+    }
+
+    /**
+     * failOnViolation 이면 위반 시 예외를 던진다. 경고는 남기지 않는다.
+     *
+     * @throws SqlStatementBudgetExceededException
+     */
+    public void verify(SqlCaptureScope scope) {
+        if (!failOnViolation) {
+            return;
+        }
+        scope.assertNoNPlusOne(nPlusOneThreshold);
+        if (statementBudget > 0) {
+            scope.assertStatementCountAtMost(statementBudget);
+        }
+    }
+
+    /**
+     * 예외를 던질 수 없는 곳에서 호출한다. 경고를 남기고, failOnViolation 이면 위반을 기록해 둔다.
+     */
+    public void reportLater(SqlCaptureScope scope) {
+        warn(scope);
+        try {
+            verify(scope);
+        } catch (SqlStatementBudgetExceededException e) {
+            if (violations.size() < MAX_RECORDED_VIOLATIONS) {
+                violations.add(e);
+            }
+        }
+    }
+
+    /**
+     * @return {@link #reportLater} 로 기록된 위반. 꺼낸 위반은 지운다.
+     */
+    public List<SqlStatementBudgetExceededException> takeViolations() {
+        List<SqlStatementBudgetExceededException> taken = new ArrayList<>();
+        SqlStatementBudgetExceededException violation;
+        while ((violation = violations.poll()) != null) {
+            taken.add(violation);
+        }
+        return taken;
+    }
+
+    private void warn(SqlCaptureScope scope) {
+        List<NPlusOneSuspect> suspects = scope.findNPlusOneSuspects(nPlusOneThreshold);
+        for (NPlusOneSuspect suspect : suspects) {
+            log.warn("[{}] N+1 의심: {} 회 실행, 호출 위치 = {}, sql = {}",
+                scope.getName(), suspect.getCount(), suspect.getCaller(), suspect.getFingerprint());
+        }
+        boolean overBudget = statementBudget > 0 && scope.getStatementCount() > statementBudget;
+        if (overBudget) {
+            log.warn("[{}] SQL {} 건 실행, 허용치 {} 건", scope.getName(), scope.getStatementCount(), statementBudget);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package study.datajpa.config.p6spy;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * HTTP 요청, 트랜잭션 또는 테스트 코드 한 구간에서 실행된 SQL 을 fingerprint 별로 센다.
+ * 만든 스레드에서만 사용한다.
+ *
+ * <pre>
+ * try (SqlCaptureScope scope = SqlCapture.open("findAll")) {
+ *     ...
+ *     scope.assertStatementCountAtMost(2);
+ * }
+ * </pre>
+ */
+public class SqlCaptureScope implements AutoCloseable {
+
+    @Getter
+    private final String name;
+    private final Map<String, FingerprintCount> fingerprints = new LinkedHashMap<>();
+    @Getter
+    private int statementCount;
+
+    SqlCaptureScope(String name) {
+        this.name = name;
+    }
+
+    void record(String fingerprint, String caller) {
+        statementCount++;
+        fingerprints.computeIfAbsent(fingerprint, key -> new FingerprintCount(caller)).count++;
+    }
+
+    public int countOf(String fingerprint) {
+        FingerprintCount count = fingerprints.get(fingerprint);
+        return count == null ? 0 : count.count;
+    }
+
+    /**
+     * @param threshold 같은 select 가 이 횟수 이상 실행되면 N+1 로 본다.
+     */
+    public List<NPlusOneSuspect> findNPlusOneSuspects(int threshold) {
+        return fingerprints.entrySet().stream()
+            .filter(entry -> entry.getKey().startsWith("select"))
+            .filter(entry -> entry.getValue().count >= threshold)
+            .map(entry -> new NPlusOneSuspect(entry.getKey(), entry.getValue().count, entry.getValue().firstCaller))
+            .toList();
+    }
+
+    public void assertStatementCountAtMost(int budget) {
+        if (statementCount > budget) {
+            throw new SqlStatementBudgetExceededException(
+                "[" + name + "] 실행된 SQL 이 " + statementCount + " 건으로 허용치 " + budget + " 건을 넘었습니다. " + fingerprints.keySet());
+        }
+    }
+
+    public void assertNoNPlusOne(int threshold) {
+        List<NPlusOneSuspect> suspects = findNPlusOneSuspects(threshold);
+        if (!suspects.isEmpty()) {
+            throw new SqlStatementBudgetExceededException("[" + name + "] N+1 이 의심됩니다. " + suspects);
+        }
+    }
+
+    @Override
+    public void close() {
+        SqlCapture.close(this);
+    }
+
+    private static class FingerprintCount {
+
+        private final String firstCaller;
+        private int count;
+
+        private FingerprintCount(String firstCaller) {
+            this.firstCaller = firstCaller;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package study.datajpa.config.p6spy;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 구조가 같은 SQL 을 하나로 묶기 위한 정규화.
+ * 리터럴과 IN 목록의 길이를 지우고 공백을 하나로 합친다.
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?)");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ");
+        return fingerprint.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.config.p6spy;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.p6spy.engine.logging.P6LogOptions;
+
+/**
+ * 운영 환경에서도 켜 두는 SQL 통계. 로그 포맷 설정({@link P6SpyConfig})과 달리 프로필을 가리지 않는다.
+ */
+@Configuration
+public class SqlMetricsConfig {
+
+    @Bean
+    public SqlMetricsRegistry sqlMetricsRegistry() {
+        return new SqlMetricsRegistry();
+    }
+
+    @Bean
+    public SqlMetricsEventListener sqlMetricsEventListener(SqlMetricsRegistry sqlMetricsRegistry) {
+        return new SqlMetricsEventListener(sqlMetricsRegistry);
+    }
+
+    /**
+     * 이 시간(ms) 이상 걸린 SQL 만 P6Spy 로그를 남긴다.
+     * 스타터가 P6Spy 모듈을 다시 읽은 뒤(싱글톤 생성 완료 시점)에 적용한다.
+     * decorator.datasource.p6spy.enable-logging=false 면 로그 모듈이 없으므로 아무것도 하지 않는다.
+     */
+    @Bean
+    public SmartInitializingSingleton sqlMetricsSlowThreshold(@Value("${sql-metrics.slow-threshold-ms:100}") long slowThresholdMillis) {
+        return () -> {
+            P6LogOptions logOptions = P6LogOptions.getActiveInstance();
+            if (logOptions != null) {
+                logOptions.setExecutionThreshold(String.valueOf(slowThresholdMillis));
+            }
+        };
+    }
+
+    @Bean
+    public SqlMetricsEndpoint sqlMetricsEndpoint(SqlMetricsRegistry sqlMetricsRegistry) {
+        return new SqlMetricsEndpoint(sqlMetricsRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.config.p6spy;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * /actuator/sqlstats (JMX: org.springframework.boot:type=Endpoint,name=Sqlstats)
+ */
+@Endpoint(id = "sqlstats")
+public class SqlMetricsEndpoint {
+
+    private final SqlMetricsRegistry registry;
+
+    public SqlMetricsEndpoint(SqlMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public List<SqlStatementSnapshot> statements() {
+        return registry.snapshots();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
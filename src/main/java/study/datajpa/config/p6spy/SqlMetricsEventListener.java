@@ -0,0 +1,57 @@
+package study.datajpa.config.p6spy;
+
+import java.sql.SQLException;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+import study.datajpa.config.metrics.RepositoryInvocations;
+
+/**
+ * 모든 SQL 실행을 {@link SqlMetricsRegistry} 와 진행 중인 레포지토리 호출({@link RepositoryInvocations})에 기록한다.
+ * 느린 SQL 로그 기준은 {@link SqlMetricsConfig} 가 P6Spy 설정에 넣는다.
+ */
+public class SqlMetricsEventListener extends JdbcEventListener {
+
+    private final SqlMetricsRegistry registry;
+
+    public SqlMetricsEventListener(SqlMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RepositoryInvocations.statementExecuted();
+        String sql = statementInformation.getSql();
+        if (sql != null) {
+            registry.metricsFor(sql).recordExecution(timeElapsedNanos, e != null);
+        }
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                     int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, rowCount, e);
+        recordRows(statementInformation.getSql(), rowCount);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(StatementInformation statementInformation, long timeElapsedNanos, String sql,
+                                     int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, sql, rowCount, e);
+        recordRows(sql, rowCount);
+    }
+
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        recordRows(resultSetInformation.getSql(), resultSetInformation.getCurrRow() + 1L);
+    }
+
+    private void recordRows(String sql, long rowCount) {
+        if (sql != null) {
+            registry.metricsFor(sql).recordRows(rowCount);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package study.datajpa.config.p6spy;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * fingerprint 별 {@link SqlStatementMetrics} 저장소.
+ * 원본 SQL 문자열로 한 번 더 캐시해서 같은 SQL 은 fingerprint 를 다시 계산하지 않는다.
+ * fingerprint 종류가 MAX_FINGERPRINTS 를 넘으면 나머지는 "other" 로 합친다 (슬롯을 원자적으로 예약하므로 넘지 않는다).
+ * 원본 SQL 캐시의 MAX_RAW_SQL 은 동시에 넣는 만큼 조금 넘을 수 있는 느슨한 상한이다.
+ */
+public class SqlMetricsRegistry {
+
+    static final String OTHER = "other";
+    private static final int MAX_FINGERPRINTS = 500;
+    private static final int MAX_RAW_SQL = 10_000;
+
+    private final Map<String, SqlStatementMetrics> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, SqlStatementMetrics> byFingerprint = new ConcurrentHashMap<>();
+    private final AtomicInteger fingerprintSlots = new AtomicInteger();
+    private volatile SqlStatementMetrics other = new SqlStatementMetrics(OTHER);
+
+    public SqlStatementMetrics metricsFor(String sql) {
+        SqlStatementMetrics metrics = byRawSql.get(sql);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = metricsForFingerprint(SqlFingerprint.of(sql));
+        if (byRawSql.size() < MAX_RAW_SQL) {
+            byRawSql.putIfAbsent(sql, metrics);
+        }
+        return metrics;
+    }
+
+    private SqlStatementMetrics metricsForFingerprint(String fingerprint) {
+        SqlStatementMetrics metrics = byFingerprint.get(fingerprint);
+        if (metrics != null) {
+            return metrics;
+        }
+        if (fingerprintSlots.get() >= MAX_FINGERPRINTS) {
+            return other;
+        }
+        metrics = byFingerprint.computeIfAbsent(fingerprint,
+            key -> fingerprintSlots.getAndIncrement() < MAX_FINGERPRINTS ? new SqlStatementMetrics(key) : null);
+        return metrics != null ? metrics : other;
+    }
+
+    /**
+     * @return 누적 실행 시간이 긴 순서
+     */
+    public List<SqlStatementSnapshot> snapshots() {
+        return Stream.concat(byFingerprint.values().stream(), Stream.of(other))
+            .map(SqlStatementMetrics::snapshot)
+            .filter(snapshot -> snapshot.getCount() > 0)
+            .sorted(Comparator.comparingDouble(SqlStatementSnapshot::getTotalMs).reversed())
+            .toList();
+    }
+
+    public void reset() {
+        byRawSql.clear();
+        byFingerprint.clear();
+        fingerprintSlots.set(0);
+        other = new SqlStatementMetrics(OTHER);
+    }
+}
@@ -0,0 +1,8 @@
+package study.datajpa.config.p6spy;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package study.datajpa.config.p6spy;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * fingerprint 하나의 실행 통계. 모든 값은 LongAdder / LongAccumulator 로 스레드별로 나눠 더하므로
+ * 기록 경로에 락과 문자열 생성이 없다.
+ * 지연 시간은 마이크로초 단위 2의 거듭제곱 버킷 히스토그램으로 모은다.
+ */
+public class SqlStatementMetrics {
+
+    private static final int BUCKET_COUNT = 40;
+
+    private final String fingerprint;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    public SqlStatementMetrics(String fingerprint) {
+        this.fingerprint = fingerprint;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void recordExecution(long elapsedNanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        buckets[bucketOf(elapsedNanos)].increment();
+    }
+
+    void recordRows(long rowCount) {
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    private static int bucketOf(long elapsedNanos) {
+        long micros = elapsedNanos / 1_000;
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @return 해당 백분위가 속한 버킷의 상한(ms)
+     */
+    private double percentileMillis(double percentile, long[] counts, long total) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (1L << i) / 1_000.0;
+            }
+        }
+        return (1L << (counts.length - 1)) / 1_000.0;
+    }
+
+    public SqlStatementSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long executions = count.sum();
+        double totalMillis = totalNanos.sum() / 1_000_000.0;
+        return new SqlStatementSnapshot(
+            fingerprint,
+            executions,
+            errors.sum(),
+            rows.sum(),
+            totalMillis,
+            executions == 0 ? 0 : totalMillis / executions,
+            percentileMillis(0.5, counts, total),
+            percentileMillis(0.99, counts, total),
+            maxNanos.get() / 1_000_000.0
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.config.p6spy;
+
+import lombok.Getter;
+
+@Getter
+public class SqlStatementSnapshot {
+
+    private final String fingerprint;
+    private final long count;
+    private final long errors;
+    private final long rows;
+    private final double totalMs;
+    private final double meanMs;
+    private final double p50Ms;
+    private final double p99Ms;
+    private final double maxMs;
+
+    public SqlStatementSnapshot(String fingerprint, long count, long errors, long rows,
+                                double totalMs, double meanMs, double p50Ms, double p99Ms, double maxMs) {
+        this.fingerprint = fingerprint;
+        this.count = count;
+        this.errors = errors;
+        this.rows = rows;
+        this.totalMs = totalMs;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+    }
+}
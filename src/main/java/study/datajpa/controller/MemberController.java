@@ -1,14 +1,26 @@
 package study.datajpa.controller;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import lombok.RequiredArgsConstructor;
+import study.datajpa.dto.MemberDashboardDto;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.KeysetSlice;
+import study.datajpa.repository.MemberAsyncRepository;
+import study.datajpa.repository.MemberDtoQueryRepository;
+import study.datajpa.repository.MemberKeysetOrder;
 import study.datajpa.repository.MemberRepository;
 
 @RestController
@@ -16,6 +28,8 @@ import study.datajpa.repository.MemberRepository;
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final MemberAsyncRepository memberAsyncRepository;
+    private final MemberDtoQueryRepository memberDtoQueryRepository;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable Long id) {
@@ -28,9 +42,45 @@ public class MemberController {
         return member.getUsername();
     }
 
+    /**
+     * 정렬할 수 없는 속성은 400 으로 응답한다.
+     */
     @GetMapping("/members")
     public Page<MemberDto> list(Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDto::new);
+        try {
+            return memberDtoQueryRepository.findPage(pageable);
+        } catch (InvalidDataAccessApiUsageException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * cursor 파라미터가 있으면 keyset 페이징으로 조회한다. 첫 페이지는 빈 cursor(?cursor=)로 요청한다.
+     * 잘못된 cursor 나 범위를 벗어난 size 는 400 으로 응답한다.
+     */
+    @GetMapping(value = "/members", params = "cursor")
+    public KeysetSlice<MemberDto> listByCursor(@RequestParam String cursor,
+                                               @RequestParam(defaultValue = "10") int size,
+                                               @RequestParam(defaultValue = "USERNAME") MemberKeysetOrder order) {
+        try {
+            return memberRepository.findAllByKeyset(order, cursor, size).map(MemberDto::new);
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            // 레포지토리 프록시가 IllegalArgumentException 을 InvalidDataAccessApiUsageException 으로 바꿔 던진다.
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 세 조회를 동시에 실행하고 모두 끝나면 합친다.
+     */
+    @GetMapping("/members/dashboard")
+    public CompletableFuture<MemberDashboardDto> dashboard(@RequestParam int age, Pageable pageable) {
+        CompletableFuture<Page<MemberDto>> membersByAge = memberAsyncRepository.findMemberDtoByAge(age, pageable);
+        CompletableFuture<List<MemberDto>> membersWithTeam = memberAsyncRepository.findMemberDto();
+        CompletableFuture<Long> totalMembers = memberAsyncRepository.count();
+
+        return CompletableFuture.allOf(membersByAge, membersWithTeam, totalMembers)
+            .thenApply(done -> new MemberDashboardDto(membersByAge.join(), membersWithTeam.join(), totalMembers.join()));
     }
 
     // @PostConstruct
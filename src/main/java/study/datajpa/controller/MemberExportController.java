@@ -0,0 +1,117 @@
+package study.datajpa.controller;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import study.datajpa.dto.MemberDto;
+import study.datajpa.repository.MemberDtoQueryRepository;
+
+/**
+ * DB 커서에서 읽은 행을 바로 응답 스트림에 쓴다. 소켓 쓰기가 막히면 커서도 멈추므로
+ * 클라이언트가 읽는 속도 이상으로 DB 를 읽지 않는다.
+ */
+@RestController
+public class MemberExportController {
+
+    private static final int FLUSH_INTERVAL = 1_000;
+    private static final int FETCH_SIZE = 1_000;
+
+    private final MemberDtoQueryRepository memberDtoQueryRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter memberDtoWriter;
+    private final ObjectMapper objectMapper;
+
+    public MemberExportController(MemberDtoQueryRepository memberDtoQueryRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper) {
+        this.memberDtoQueryRepository = memberDtoQueryRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        // writeValue 가 행마다 flush 하지 않도록 끈다. flush 는 FLUSH_INTERVAL 마다 직접 한다.
+        this.memberDtoWriter = objectMapper.writerFor(MemberDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") MemberExportFormat format) {
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberDto> rows = memberDtoQueryRepository.streamAll(FETCH_SIZE)) {
+                if (format == MemberExportFormat.CSV) {
+                    writeCsv(rows.iterator(), outputStream);
+                } else {
+                    writeNdjson(rows.iterator(), outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(format.getMediaType())
+            .body(body);
+    }
+
+    private void writeNdjson(Iterator<MemberDto> rows, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        // 줄 구분은 직접 쓰므로 루트 값 사이의 기본 구분자(공백)는 쓰지 않는다.
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        while (rows.hasNext()) {
+            memberDtoWriter.writeValue(generator, rows.next());
+            generator.writeRaw('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<MemberDto> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("id,username,teamName\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            MemberDto row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(csv(row.getUsername()));
+            writer.write(',');
+            writer.write(csv(row.getTeamName()));
+            writer.write('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,21 @@
+package study.datajpa.dto;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+
+import lombok.Getter;
+
+@Getter
+public class MemberDashboardDto {
+
+    private final Page<MemberDto> membersByAge;
+    private final List<MemberDto> membersWithTeam;
+    private final long totalMembers;
+
+    public MemberDashboardDto(Page<MemberDto> membersByAge, List<MemberDto> membersWithTeam, long totalMembers) {
+        this.membersByAge = membersByAge;
+        this.membersWithTeam = membersWithTeam;
+        this.totalMembers = totalMembers;
+    }
+}
@@ -16,9 +16,13 @@ public class MemberDto {
         this.teamName = teamName;
     }
 
+    /**
+     * 팀 이름을 읽으므로 트랜잭션 안에서 호출하거나 팀을 fetch join 으로 함께 읽은 회원을 넘긴다.
+     */
     public MemberDto(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
-        // this.teamName = member.getTeam().getName();
+        // 트랜잭션 안에서 페이지 단위로 변환하면 팀 프록시는 배치 페치로 한 번에 초기화된다.
+        this.teamName = member.getTeam() != null ? member.getTeam().getName() : null;
     }
 }
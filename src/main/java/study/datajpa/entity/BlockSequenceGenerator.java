@@ -0,0 +1,24 @@
+package study.datajpa.entity;
+
+import java.util.Properties;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * increment_size 를 매핑 대신 {@link IdAllocation#BLOCK_SIZE_SETTING} 설정에서 읽는 시퀀스 생성기.
+ * 블록 크기가 1 이면 optimizer 없이 insert 마다 시퀀스를 호출한다.
+ */
+public class BlockSequenceGenerator extends SequenceStyleGenerator {
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        int blockSize = serviceRegistry.requireService(ConfigurationService.class)
+            .getSetting(IdAllocation.BLOCK_SIZE_SETTING, StandardConverters.INTEGER, IdAllocation.DEFAULT_BLOCK_SIZE);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(blockSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.entity;
+
+/**
+ * 시퀀스 기반 식별자의 pooled 할당 크기.
+ * 시퀀스 한 번 호출로 block-size 개의 id 를 메모리에서 나눠 쓰므로 insert 마다 시퀀스를 조회하지 않는다.
+ * 크기는 id-allocation.block-size 로 설정하고, hibernate.jdbc.batch_size 를 따로 지정하지 않으면 같은 값을 쓴다 (JpaConfig).
+ */
+public final class IdAllocation {
+
+    /**
+     * BlockSequenceGenerator 가 읽는 Hibernate 설정 이름.
+     */
+    public static final String BLOCK_SIZE_SETTING = "datajpa.id.block_size";
+
+    public static final int DEFAULT_BLOCK_SIZE = 100;
+
+    private IdAllocation() {
+    }
+}
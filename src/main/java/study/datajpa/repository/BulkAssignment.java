@@ -0,0 +1,14 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * 벌크 update 의 set 절
+ */
+@FunctionalInterface
+public interface BulkAssignment<T> {
+
+    void apply(CriteriaUpdate<T> update, Root<T> root, CriteriaBuilder cb);
+}
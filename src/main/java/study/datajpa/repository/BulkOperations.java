@@ -0,0 +1,144 @@
+package study.datajpa.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.engine.spi.Status;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 조건에 맞는 행을 update/delete 한 번으로 처리하고, 영속성 컨텍스트 전체를 비우는 대신 영향받은 엔티티만 맞춘다.
+ * <ul>
+ *     <li>실행 전에 flush 해서 아직 반영되지 않은 변경이 벌크 SQL 에 덮어써지지 않게 한다.</li>
+ *     <li>해당 타입의 관리 엔티티가 있을 때만, 그 id 중에서 조건에 맞는 것을 먼저 조회한다.</li>
+ *     <li>update 는 영향받은 엔티티를 detach 하고 id IN 쿼리 한 번으로 다시 읽는다. delete 는 detach 만 한다.
+ *     나머지 엔티티는 그대로 관리된다.</li>
+ * </ul>
+ * 벌크 update 전에 받아 둔 영향받은 엔티티 참조는 준영속이 되므로, 이후에는 다시 조회한 엔티티(영속성 컨텍스트에 있어 쿼리 없음)를 사용한다.
+ * 벌크 SQL 은 @Version 을 올려주지 않으므로 update 에 버전 증가를 함께 넣어, 먼저 읽어 둔 다른 트랜잭션이 충돌을 감지하게 한다.
+ * 2차 캐시와 쿼리 캐시는 Hibernate 가 벌크 실행 시 해당 엔티티 영역을 무효화하므로 따로 처리하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkOperations {
+
+    private final EntityManager em;
+
+    @Transactional
+    public <T> int update(Class<T> type, Specification<T> where, BulkAssignment<T> set) {
+        em.flush();
+        List<T> affected = findManagedMatching(type, where);
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        set.apply(update, root, cb);
+        versionAttributeName(type).ifPresent(version ->
+            update.set(root.<Long>get(version), cb.sum(root.<Long>get(version), 1L)));
+        update.where(where.toPredicate(root, null, cb));
+        int updated = em.createQuery(update).executeUpdate();
+
+        reload(type, affected);
+        return updated;
+    }
+
+    @Transactional
+    public <T> int delete(Class<T> type, Specification<T> where) {
+        em.flush();
+        List<T> affected = findManagedMatching(type, where);
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaDelete<T> delete = cb.createCriteriaDelete(type);
+        Root<T> root = delete.from(type);
+        delete.where(where.toPredicate(root, null, cb));
+        int deleted = em.createQuery(delete).executeUpdate();
+
+        affected.forEach(em::detach);
+        return deleted;
+    }
+
+    private <T> List<T> findManagedMatching(Class<T> type, Specification<T> where) {
+        Map<Object, T> managed = managedInstances(type);
+        if (managed.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object> query = cb.createQuery(Object.class);
+        Root<T> root = query.from(type);
+        Path<Object> id = root.get(idAttributeName(type));
+        query.select(id)
+            .where(cb.and(where.toPredicate(root, query, cb), id.in(managed.keySet())));
+
+        List<T> affected = new ArrayList<>();
+        for (Object matchedId : em.createQuery(query).getResultList()) {
+            affected.add(managed.get(matchedId));
+        }
+        return affected;
+    }
+
+    /**
+     * 엔티티마다 refresh 하면 select 가 건수만큼 나가므로, 분리한 뒤 한 번에 다시 읽는다.
+     */
+    private <T> void reload(Class<T> type, List<T> affected) {
+        if (affected.isEmpty()) {
+            return;
+        }
+        PersistenceUnitUtil persistenceUnitUtil = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        List<Object> ids = affected.stream()
+            .map(persistenceUnitUtil::getIdentifier)
+            .toList();
+        affected.forEach(em::detach);
+
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        query.select(root)
+            .where(root.get(idAttributeName(type)).in(ids));
+        em.createQuery(query).getResultList();
+    }
+
+    private <T> Map<Object, T> managedInstances(Class<T> type) {
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        Map<Object, T> managed = new LinkedHashMap<>();
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (type.isInstance(entry.getKey()) && entry.getValue().getStatus() == Status.MANAGED) {
+                managed.put(entry.getValue().getId(), type.cast(entry.getKey()));
+            }
+        }
+        return managed;
+    }
+
+    private Optional<String> versionAttributeName(Class<?> type) {
+        return em.getMetamodel().entity(type).getSingularAttributes().stream()
+            .filter(SingularAttribute::isVersion)
+            .map(Attribute::getName)
+            .findFirst();
+    }
+
+    private String idAttributeName(Class<?> type) {
+        EntityType<?> entityType = em.getMetamodel().entity(type);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+/**
+ * {@link MemberRepositoryCustom#saveAllInChunks} 의 저장 방식.
+ */
+public enum BulkSaveMode {
+
+    /**
+     * em.persist 후 chunk 마다 flush / clear. JPA 콜백과 Auditing 이 동작한다.
+     */
+    PERSIST,
+
+    /**
+     * 같은 커넥션 위에서 StatelessSession 으로 insert. 영속성 컨텍스트, 스냅샷, 더티 체킹이 없다.
+     * JPA 콜백과 Hibernate 엔티티 이벤트는 호출되지 않는다. Auditing 값은 직접 채우고, username 색인과
+     * 쿼리 캐시는 커밋 후에 갱신한다. 2차 캐시에는 올리지 않으며, 참조하는 Team 은 이미 저장되어 id 가 있어야 한다.
+     */
+    STATELESS
+}
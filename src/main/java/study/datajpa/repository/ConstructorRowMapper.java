@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * select 절 컬럼 순서대로 DTO(클래스, record) 생성자 인자를 채운다.
+ * 생성자 MethodHandle 과 컬럼별 읽기 함수는 만들 때 한 번만 준비하므로 행마다 리플렉션, 프록시, SpEL 평가가 없다.
+ * 행마다 할당되는 것은 인자 배열과 DTO 뿐이다.
+ */
+public final class ConstructorRowMapper<T> implements RowMapper<T> {
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final ColumnReader[] readers;
+
+    private ConstructorRowMapper(Class<T> type, Class<?>... parameterTypes) {
+        this.type = type;
+        try {
+            this.constructor = MethodHandles.publicLookup()
+                .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(type.getName() + " 에 public 생성자가 없습니다.", e);
+        }
+        this.readers = new ColumnReader[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            readers[i] = readerFor(parameterTypes[i], i + 1);
+        }
+    }
+
+    /**
+     * @param parameterTypes 생성자 인자 타입. select 절 컬럼 순서와 같아야 한다.
+     */
+    public static <T> ConstructorRowMapper<T> of(Class<T> type, Class<?>... parameterTypes) {
+        return new ConstructorRowMapper<>(type, parameterTypes);
+    }
+
+    @Override
+    public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Object[] args = new Object[readers.length];
+        for (int i = 0; i < readers.length; i++) {
+            args[i] = readers[i].read(rs);
+        }
+        try {
+            return type.cast((Object) constructor.invokeExact(args));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(type.getName() + " 생성에 실패했습니다.", e);
+        }
+    }
+
+    private static ColumnReader readerFor(Class<?> parameterType, int column) {
+        if (parameterType == long.class) {
+            return rs -> rs.getLong(column);
+        }
+        if (parameterType == int.class) {
+            return rs -> rs.getInt(column);
+        }
+        if (parameterType == String.class) {
+            return rs -> rs.getString(column);
+        }
+        return rs -> rs.getObject(column, parameterType);
+    }
+
+    @FunctionalInterface
+    private interface ColumnReader {
+
+        Object read(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,39 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 체크포인트는 (partitions, index) 로 구분한다.
+ */
+public class InMemoryPartitionCheckpointStore implements PartitionCheckpointStore {
+
+    private final Map<Integer, List<PartitionRange>> ranges = new ConcurrentHashMap<>();
+    private final Map<String, Long> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<List<PartitionRange>> ranges(int partitions) {
+        return Optional.ofNullable(ranges.get(partitions));
+    }
+
+    @Override
+    public void saveRanges(int partitions, List<PartitionRange> ranges) {
+        this.ranges.put(partitions, List.copyOf(ranges));
+    }
+
+    @Override
+    public Optional<Long> lastProcessedId(int partitions, PartitionRange range) {
+        return Optional.ofNullable(checkpoints.get(key(partitions, range)));
+    }
+
+    @Override
+    public void save(int partitions, PartitionRange range, long lastProcessedId) {
+        checkpoints.put(key(partitions, range), lastProcessedId);
+    }
+
+    private static String key(int partitions, PartitionRange range) {
+        return partitions + ":" + range.getIndex();
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Getter;
+import study.datajpa.entity.Member;
+
+/**
+ * 마지막으로 읽은 행의 (정렬 키, member_id) 를 담는 continuation token.
+ * 클라이언트에는 Base64 문자열로만 노출된다.
+ */
+@Getter
+public class KeysetCursor {
+
+    private static final String DELIMITER = "|";
+    private static final String NULL_KEY = "N";
+    private static final String VALUE_KEY = "V";
+
+    private final MemberKeysetOrder order;
+    private final Object key;
+    private final Long id;
+
+    private KeysetCursor(MemberKeysetOrder order, Object key, Long id) {
+        this.order = order;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(MemberKeysetOrder order, Member last) {
+        return new KeysetCursor(order, order.keyOf(last), last.getId());
+    }
+
+    /**
+     * @return token 이 비어 있으면 null (첫 페이지)
+     */
+    public static KeysetCursor decode(MemberKeysetOrder order, String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, 3);
+            if (parts.length != 3 || !order.name().equals(parts[0])) {
+                throw new IllegalArgumentException("잘못된 cursor 입니다. cursor = " + token);
+            }
+            Long id = Long.valueOf(parts[1]);
+            Object key = parts[2].startsWith(VALUE_KEY) ? order.parseKey(parts[2].substring(1)) : null;
+            return new KeysetCursor(order, key, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다. cursor = " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = order.name()
+            + DELIMITER
+            + id
+            + DELIMITER
+            + (key == null ? NULL_KEY : VALUE_KEY + key);
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.Getter;
+
+/**
+ * Keyset 페이징 결과. count 쿼리 없이 limit + 1 건 조회로 다음 페이지 존재 여부만 판단한다.
+ */
+@Getter
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        List<U> converted = content.stream()
+            .<U>map(converter)
+            .toList();
+        return new KeysetSlice<>(converted, size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,60 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.config.async.RepositoryExecutor;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+/**
+ * 무거운 조회를 {@link RepositoryExecutor} 에서 각자의 읽기 전용 트랜잭션으로 실행한다.
+ * 여러 조회를 동시에 걸면 전체 응답 시간은 가장 느린 조회 하나에 가까워진다.
+ * 결과 엔티티는 트랜잭션이 끝난 뒤 준영속 상태이므로 지연 로딩 연관관계가 필요하면 DTO 를 반환하는 메서드를 사용한다.
+ */
+@Repository
+public class MemberAsyncRepository {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RepositoryExecutor executor;
+
+    public MemberAsyncRepository(MemberRepository memberRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 RepositoryExecutor executor) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * 팀 이름은 지연 로딩이므로 트랜잭션 안에서 DTO 로 바꾼다. 팀은 배치 페치로 한 번에 읽는다.
+     */
+    public CompletableFuture<Page<MemberDto>> findMemberDtoByAge(int age, Pageable pageable) {
+        return supplyAsync(() -> memberRepository.findByAge(age, pageable).map(MemberDto::new));
+    }
+
+    public CompletableFuture<List<Member>> findByUsername(String username) {
+        return supplyAsync(() -> memberRepository.findByUsername(username));
+    }
+
+    public CompletableFuture<List<MemberDto>> findMemberDto() {
+        return supplyAsync(memberRepository::findMemberDto);
+    }
+
+    public CompletableFuture<Long> count() {
+        return supplyAsync(memberRepository::count);
+    }
+
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+        return executor.supplyAsync(() -> readOnlyTransaction.execute(status -> query.get()));
+    }
+}
@@ -0,0 +1,65 @@
+package study.datajpa.repository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import study.datajpa.config.jpa.TableWriteListener;
+
+/**
+ * Page 의 totalElements 를 위한 근사 count 캐시.
+ * ttl 이 지나거나 member 테이블에 쓰기(벌크 연산 포함)가 발생하면 버린다.
+ */
+@Component
+public class MemberCountCache implements TableWriteListener {
+
+    private static final String MEMBER_TABLE = "member";
+    private static final int MAX_ENTRIES = 1_000;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+
+    public MemberCountCache(@Value("${member.count-cache.ttl:5s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public long count(String key, LongSupplier countQuery) {
+        long now = System.nanoTime();
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.count();
+        }
+
+        // 조회 도중 무효화가 일어났다면 결과는 돌려주되 캐시에는 넣지 않는다.
+        long observed = generation.get();
+        long count = countQuery.getAsLong();
+        if (generation.get() == observed) {
+            if (counts.size() >= MAX_ENTRIES) {
+                counts.clear();
+            }
+            counts.put(key, new CachedCount(count, now));
+        }
+        return count;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    @Override
+    public void onTableWrite(String table) {
+        if (MEMBER_TABLE.equals(table)) {
+            invalidate();
+        }
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+}
@@ -0,0 +1,100 @@
+package study.datajpa.repository;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import study.datajpa.dto.MemberDto;
+
+/**
+ * 엔티티를 만들지 않고 JDBC 결과를 {@link ConstructorRowMapper} 로 MemberDto 에 바로 담는다.
+ * 영속성 컨텍스트, 스냅샷, 프록시를 거치지 않으므로 목록 / 내보내기처럼 읽기만 하는 대량 조회에 사용한다.
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberDtoQueryRepository {
+
+    private static final String SELECT_MEMBER_DTO = "select m.member_id, m.username, t.name "
+        + "from member m "
+        + "left join team t on m.team_id = t.team_id";
+
+    // 클라이언트가 보낸 정렬 속성은 이 목록에 있는 컬럼으로만 바꾼다.
+    // team.name 은 엔티티 페이징(Member.team.name) 시절부터 쓰던 속성 경로라 그대로 받는다.
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "m.member_id",
+        "username", "m.username",
+        "age", "m.age",
+        "teamName", "t.name",
+        "team.name", "t.name");
+
+    private static final RowMapper<MemberDto> MEMBER_DTO_MAPPER =
+        ConstructorRowMapper.of(MemberDto.class, Long.class, String.class, String.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final MemberCountCache countCache;
+
+    /**
+     * totalElements 는 {@link MemberRepositoryCustom#findAllWithCachedCount} 와 같은 count 캐시를 사용한다.
+     */
+    public Page<MemberDto> findPage(Pageable pageable) {
+        return PageableExecutionUtils.getPage(findContent(pageable), pageable, () -> countCache.count("all", () ->
+            jdbcTemplate.getJdbcTemplate().queryForObject("select count(*) from member", Long.class)));
+    }
+
+    /**
+     * @throws org.springframework.dao.InvalidDataAccessApiUsageException 정렬할 수 없는 속성이 있는 경우
+     *                                                                    (빈 프록시가 IllegalArgumentException 을 바꿔 던진다)
+     */
+    public List<MemberDto> findContent(Pageable pageable) {
+        String sql = SELECT_MEMBER_DTO + orderBy(pageable.getSort()) + " limit :limit offset :offset";
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("limit", pageable.getPageSize())
+            .addValue("offset", pageable.getOffset());
+        return jdbcTemplate.query(sql, parameters, MEMBER_DTO_MAPPER);
+    }
+
+    /**
+     * 트랜잭션 안에서 소비하고 닫아야 한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<MemberDto> streamAll(int fetchSize) {
+        return jdbcTemplate.getJdbcTemplate().queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_MEMBER_DTO);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, MEMBER_DTO_MAPPER);
+    }
+
+    private static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        boolean orderedById = false;
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("정렬할 수 없는 속성입니다: " + order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " asc" : " desc"));
+            orderedById |= "id".equals(order.getProperty());
+        }
+        // 같은 값이 여러 행이면 페이지마다 순서가 달라지지 않도록 id 로 마무리한다.
+        if (!orderedById) {
+            orderBy.add("m.member_id asc");
+        }
+        return orderBy.toString();
+    }
+}
@@ -7,20 +7,28 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import lombok.RequiredArgsConstructor;
 import study.datajpa.entity.Member;
 
 @Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final BulkOperations bulkOperations;
+
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
         return member;
     }
 
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
@@ -71,9 +79,10 @@ public class MemberJpaRepository {
             .getSingleResult();
     }
 
+    @Transactional
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
-            .setParameter("age", age)
-            .executeUpdate();
+        return bulkOperations.update(Member.class,
+            (root, query, cb) -> cb.ge(root.get("age"), age),
+            (update, root, cb) -> update.set(root.<Integer>get("age"), cb.sum(root.get("age"), 1)));
     }
 }
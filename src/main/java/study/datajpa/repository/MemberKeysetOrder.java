@@ -0,0 +1,36 @@
+package study.datajpa.repository;
+
+import java.util.function.Function;
+
+import study.datajpa.entity.Member;
+
+/**
+ * Keyset(seek) 페이징의 정렬 키. 항상 member_id 를 보조 키로 사용해 순서를 유일하게 만든다.
+ */
+public enum MemberKeysetOrder {
+
+    USERNAME("username", Member::getUsername, value -> value),
+    AGE("age", Member::getAge, Integer::valueOf);
+
+    private final String attribute;
+    private final Function<Member, Object> extractor;
+    private final Function<String, Object> parser;
+
+    MemberKeysetOrder(String attribute, Function<Member, Object> extractor, Function<String, Object> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    Object keyOf(Member member) {
+        return extractor.apply(member);
+    }
+
+    Object parseKey(String value) {
+        return parser.apply(value);
+    }
+}
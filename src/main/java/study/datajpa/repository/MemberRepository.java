@@ -3,25 +3,37 @@ package study.datajpa.repository;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
+/**
+ * 조회 메서드는 읽기 전용 트랜잭션에서 실행한다. 스냅샷을 만들지 않고 FlushMode.MANUAL, 읽기 전용 커넥션을 사용한다.
+ * 쓰기가 필요한 메서드는 메서드(또는 MemberRepositoryImpl) 에 @Transactional 을 따로 붙인다.
+ */
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.MEMBER_BY_USERNAME)
+    })
     List<Member> findByUsername(String username);
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
@@ -32,21 +44,38 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select m.username from Member m")
     List<String> findUsernameList();
 
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.MEMBER_DTO)
+    })
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.username = :username")
+    List<MemberDto> findMemberDtoByUsername(@Param("username") String username);
+
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.MEMBER_BY_NAMES)
+    })
     @Query("select m from Member m where m.username in :names")
     List<Member> findByNames(@Param("names") Collection<String> names);
 
     List<Member> findListByUsername(String username); // 리스트
     Member findMemberByUsername(String username); // 단건
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = QueryCacheRegions.MEMBER_OPTIONAL_BY_USERNAME)
+    })
     Optional<Member> findOptionalByUsername(String username); // Optional 단건
 
     Page<Member> findByAge(int age, Pageable pageable);
 
-    @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    // count 쿼리 없이 limit + 1 건으로 다음 페이지 여부만 판단
+    Slice<Member> findSliceByAge(int age, Pageable pageable);
+
+    @Query("select m from Member m")
+    Slice<Member> findSliceBy(Pageable pageable);
 
     @Query("select m from Member m left join fetch m.team t")
     List<Member> findMemberFetchJoin();
@@ -65,11 +94,34 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    // 트랜잭션 안에서 소비하고 닫아야 한다. fetch size 를 바꾸려면 streamAll(int) 사용
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    @Query("select m from Member m")
+    Stream<Member> streamAllBy();
+
+    // 엔티티를 거치지 않고 DTO 로 바로 읽으므로 영속성 컨텍스트에 쌓이지 않는다.
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamMemberDto();
+
+    @Transactional
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
     List<NestedClosedProjections> findProjectionsByUsername(String username);
 
+    <T> List<T> findProjectionsByUsername(String username, Class<T> type);
+
+    // UsernameOnly 의 @Value 식을 select 절로 옮겼다. 엔티티를 읽지 않고 행마다 SpEL 을 평가하지 않는다.
+    @Query("select new study.datajpa.repository.UsernameOnlyDto(concat(m.username, ' ', cast(m.age as String))) "
+         + "from Member m where m.username = :username")
+    List<UsernameOnlyDto> findUsernameOnlyByUsername(@Param("username") String username);
+
     @Query(value = "select * from member where username = ?", nativeQuery = true)
     Member findByNativeQuery(String username);
 
@@ -79,4 +131,10 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
         countQuery = "select count(*) from member",
         nativeQuery = true)
     Page<MemberProjection> findByNativeProjection(Pageable pageable);
+
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName "
+                 + "from member m "
+                    + "left join team t on m.team_id = t.team_id",
+        nativeQuery = true)
+    Slice<MemberProjection> findSliceByNativeProjection(Pageable pageable);
 }
@@ -1,10 +1,73 @@
 package study.datajpa.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import study.datajpa.entity.Member;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    /**
+     * {@link MemberUsernameIndex} 에서 찾은 id 를 member_id IN 쿼리 한 번으로 읽는다.
+     * 색인의 id 수가 username 의 행 수(count)와 다르거나 색인이 꺼져 있으면 username 조건 쿼리로 대신하므로
+     * 색인이 늦거나 빠져 있어도 일부만 반환하지 않는다. 결과는 member_id 순서다.
+     */
+    List<Member> findByUsernameIndexed(String username);
+
+    /**
+     * (정렬 키, member_id) 기준 keyset 페이징. 페이지 깊이와 상관없이 인덱스 탐색 한 번으로 다음 페이지를 읽는다.
+     * cursor 가 비어 있으면 첫 페이지를 조회한다.
+     */
+    KeysetSlice<Member> findAllByKeyset(MemberKeysetOrder order, String cursor, int size);
+
+    KeysetSlice<Member> findByAgeByKeyset(int age, String cursor, int size);
+
+    /**
+     * totalElements 는 {@link MemberCountCache} 의 근사값을 사용한다. 정확한 count 가 필요하면 {@link MemberRepository#findByAge} 를 사용한다.
+     */
+    Page<Member> findByAgeWithCachedCount(int age, Pageable pageable);
+
+    Page<Member> findAllWithCachedCount(Pageable pageable);
+
+    /**
+     * age 이상인 회원의 나이를 1 증가시킨다. 영속성 컨텍스트는 비우지 않고 영향받은 회원만 refresh 한다.
+     *
+     * @see BulkOperations
+     */
+    int bulkAgePlus(int age);
+
+    /**
+     * forward-only 커서로 회원을 하나씩 읽는다. 다음 행을 읽을 때 직전 회원을 영속성 컨텍스트에서 분리하므로
+     * 메모리 사용량은 테이블 크기와 무관하다. 트랜잭션 안에서 소비하고 try-with-resources 로 닫아야 한다.
+     */
+    Stream<Member> streamAll(int fetchSize);
+
+    void forEachMember(int fetchSize, Consumer<Member> action);
+
+    /**
+     * member_id 범위를 partitions 개로 나누어 RepositoryExecutor 스레드 parallelism 개에서 동시에 처리한다.
+     * 실제 동시 처리 수는 repository.async.max-concurrency 를 넘지 않는다. 같은 풀을 기다리게 되므로 비동기 작업 안에서 호출하지 않는다.
+     * 파티션은 chunkSize 건씩 member_id 순서로 읽고, chunk 마다 별도 트랜잭션(스레드별 EntityManager)에서 action 을 호출한 뒤 커밋한다.
+     * 커밋된 chunk 의 마지막 id 는 체크포인트로 저장된다. action 안에서 바꾼 엔티티는 chunk 커밋 때 반영된다.
+     * 구간은 처음 실행할 때의 min / max 로 나눠 체크포인트 저장소에 남기고, 같은 저장소로 재실행하면 그 구간을 그대로 쓴다.
+     */
+    PartitionedScanResult scanInPartitions(PartitionedScanOptions options, Consumer<Member> action);
+
+    long saveAllInChunks(Stream<Member> members, int chunkSize);
+
+    /**
+     * chunkSize 건마다 flush 하고 영속성 컨텍스트를 비워 메모리 사용량을 chunk 크기로 제한한다.
+     * Team.members 컬렉션은 비워지지 않으므로 대량 적재 시에는 changeTeam 대신 setTeam 으로 연관관계를 건다.
+     *
+     * @param progress chunk 가 끝날 때마다 지금까지 저장한 건수를 받는다.
+     * @return 저장한 회원 수
+     */
+    long saveAllInChunks(Stream<Member> members, int chunkSize, BulkSaveMode mode, LongConsumer progress);
 }
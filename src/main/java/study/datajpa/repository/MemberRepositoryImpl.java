@@ -1,20 +1,384 @@
 package study.datajpa.repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.RequiredArgsConstructor;
+import study.datajpa.config.async.RepositoryExecutor;
 import study.datajpa.entity.Member;
 
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
+    private static final int MAX_KEYSET_SIZE = 2000;
+    private static final String HINT_FETCH_SIZE = "org.hibernate.fetchSize";
+    private static final String HINT_READ_ONLY = "org.hibernate.readOnly";
+
     private final EntityManager em;
+    private final MemberCountCache countCache;
+    private final PlatformTransactionManager transactionManager;
+    private final BulkOperations bulkOperations;
+    private final MemberUsernameIndex usernameIndex;
+    private final AuditingHandler auditingHandler;
+    private final RepositoryExecutor repositoryExecutor;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
             .getResultList();
     }
+
+    @Override
+    public List<Member> findByUsernameIndexed(String username) {
+        Set<Long> ids = usernameIndex.idsOf(username).orElse(Set.of());
+        if (!ids.isEmpty()) {
+            // 색인은 벌크 SQL, 다른 노드의 쓰기, 현재 트랜잭션의 insert 를 모르므로 username 의 행 수와 맞을 때만 믿는다.
+            long count = em.createQuery("select count(m) from Member m where m.username = :username", Long.class)
+                .setParameter("username", username)
+                .getSingleResult();
+            if (count == ids.size()) {
+                List<Member> members = em.createQuery(
+                        "select m from Member m where m.id in :ids and m.username = :username order by m.id", Member.class)
+                    .setParameter("ids", ids)
+                    .setParameter("username", username)
+                    .getResultList();
+                if (members.size() == count) {
+                    return members;
+                }
+            }
+        }
+        return em.createQuery("select m from Member m where m.username = :username order by m.id", Member.class)
+            .setParameter("username", username)
+            .getResultList();
+    }
+
+    @Override
+    public KeysetSlice<Member> findAllByKeyset(MemberKeysetOrder order, String cursor, int size) {
+        return findByKeyset(order, null, cursor, size);
+    }
+
+    @Override
+    public KeysetSlice<Member> findByAgeByKeyset(int age, String cursor, int size) {
+        return findByKeyset(MemberKeysetOrder.USERNAME, age, cursor, size);
+    }
+
+    @Override
+    public Page<Member> findByAgeWithCachedCount(int age, Pageable pageable) {
+        String jpql = QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m");
+        List<Member> content = em.createQuery(jpql, Member.class)
+            .setParameter("age", age)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countCache.count("age:" + age, () ->
+            em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult()));
+    }
+
+    @Override
+    public Page<Member> findAllWithCachedCount(Pageable pageable) {
+        String jpql = QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m");
+        List<Member> content = em.createQuery(jpql, Member.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> countCache.count("all", () ->
+            em.createQuery("select count(m) from Member m", Long.class)
+                .getSingleResult()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<Member> streamAll(int fetchSize) {
+        Stream<Member> members = em.createQuery("select m from Member m", Member.class)
+            .setHint(HINT_FETCH_SIZE, fetchSize)
+            .setHint(HINT_READ_ONLY, true)
+            .getResultStream();
+        return detachingPrevious(members);
+    }
+
+    @Override
+    public void forEachMember(int fetchSize, Consumer<Member> action) {
+        try (Stream<Member> members = streamAll(fetchSize)) {
+            members.forEach(action);
+        }
+    }
+
+    private <T> Stream<T> detachingPrevious(Stream<T> entities) {
+        Object[] previous = new Object[1];
+        return entities.map(entity -> {
+            if (previous[0] != null) {
+                em.detach(previous[0]);
+            }
+            previous[0] = entity;
+            return entity;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age) {
+        return bulkOperations.update(Member.class,
+            (root, query, cb) -> cb.ge(root.get("age"), age),
+            (update, root, cb) -> update.set(root.<Integer>get("age"), cb.sum(root.get("age"), 1)));
+    }
+
+    // 파티션은 각자 트랜잭션을 열므로 호출 스레드가 커넥션을 붙잡고 있지 않게 한다.
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PartitionedScanResult scanInPartitions(PartitionedScanOptions options, Consumer<Member> action) {
+        List<PartitionRange> ranges = options.getCheckpointStore().ranges(options.getPartitions())
+            .orElseGet(() -> newRanges(options));
+        if (ranges.isEmpty()) {
+            return new PartitionedScanResult(Map.of());
+        }
+
+        // 공용 RepositoryExecutor 에 작업자 parallelism 개만 올리고, 작업자가 남은 파티션을 하나씩 가져간다.
+        // 하나라도 실패하면 나머지 작업자는 진행 중인 파티션까지만 끝내고 멈춘다.
+        Queue<PartitionRange> pending = new ConcurrentLinkedQueue<>(ranges);
+        Map<PartitionRange, Long> processed = new ConcurrentHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        try {
+            for (int i = 0; i < Math.min(options.getParallelism(), ranges.size()); i++) {
+                workers.add(repositoryExecutor.runAsync(() -> {
+                    PartitionRange range;
+                    while (!failed.get() && (range = pending.poll()) != null) {
+                        try {
+                            processed.put(range, scanPartition(range, options, action));
+                        } catch (RuntimeException e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                }));
+            }
+        } catch (RuntimeException e) {
+            failed.set(true);
+            throw e;
+        }
+
+        try {
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("파티션 처리에 실패했습니다. 체크포인트부터 다시 실행할 수 있습니다.", e.getCause());
+        }
+        Map<PartitionRange, Long> ordered = new LinkedHashMap<>();
+        ranges.forEach(range -> ordered.put(range, processed.get(range)));
+        return new PartitionedScanResult(ordered);
+    }
+
+    /**
+     * 처음 실행할 때만 현재 min / max 로 구간을 나누고 저장한다. 재실행은 저장된 구간을 써야 체크포인트가 맞는다.
+     */
+    private List<PartitionRange> newRanges(PartitionedScanOptions options) {
+        Object[] bounds = new TransactionTemplate(transactionManager).execute(status ->
+            em.createQuery("select min(m.id), max(m.id) from Member m", Object[].class)
+                .getSingleResult());
+        if (bounds == null || bounds[0] == null) {
+            return List.of();
+        }
+        List<PartitionRange> ranges = partition((Long) bounds[0], (Long) bounds[1], options.getPartitions());
+        options.getCheckpointStore().saveRanges(options.getPartitions(), ranges);
+        return ranges;
+    }
+
+    private static List<PartitionRange> partition(long minId, long maxId, int partitions) {
+        long step = Math.max(1, (maxId - minId + partitions) / partitions);
+        List<PartitionRange> ranges = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += step) {
+            ranges.add(new PartitionRange(ranges.size(), from, Math.min(from + step - 1, maxId)));
+        }
+        return ranges;
+    }
+
+    private long scanPartition(PartitionRange range, PartitionedScanOptions options, Consumer<Member> action) {
+        PartitionCheckpointStore checkpoints = options.getCheckpointStore();
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        long after = checkpoints.lastProcessedId(options.getPartitions(), range).orElse(range.getFromId() - 1);
+        long processed = 0;
+
+        while (after < range.getToId()) {
+            long lowerBound = after;
+            List<Member> chunk = chunkTransaction.execute(status -> {
+                List<Member> members = em.createQuery(
+                        "select m from Member m where m.id > :after and m.id <= :to order by m.id", Member.class)
+                    .setParameter("after", lowerBound)
+                    .setParameter("to", range.getToId())
+                    .setMaxResults(options.getChunkSize())
+                    .getResultList();
+                members.forEach(action);
+                return members;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            after = chunk.get(chunk.size() - 1).getId();
+            processed += chunk.size();
+            checkpoints.save(options.getPartitions(), range, after);
+        }
+        return processed;
+    }
+
+    @Override
+    @Transactional
+    public long saveAllInChunks(Stream<Member> members, int chunkSize) {
+        return saveAllInChunks(members, chunkSize, BulkSaveMode.PERSIST, saved -> {
+        });
+    }
+
+    @Override
+    @Transactional
+    public long saveAllInChunks(Stream<Member> members, int chunkSize, BulkSaveMode mode, LongConsumer progress) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize 는 1 이상이어야 합니다. chunkSize = " + chunkSize);
+        }
+        if (mode == BulkSaveMode.STATELESS) {
+            return insertStateless(members.iterator(), chunkSize, progress);
+        }
+        return persistInChunks(members.iterator(), chunkSize, progress);
+    }
+
+    private long persistInChunks(Iterator<Member> members, int chunkSize, LongConsumer progress) {
+        long saved = 0;
+        while (members.hasNext()) {
+            em.persist(members.next());
+            saved++;
+            if (saved % chunkSize == 0) {
+                em.flush();
+                em.clear();
+                progress.accept(saved);
+            }
+        }
+        if (saved % chunkSize != 0) {
+            em.flush();
+            em.clear();
+            progress.accept(saved);
+        }
+        return saved;
+    }
+
+    /**
+     * StatelessSession 은 JPA 콜백과 엔티티 이벤트를 거치지 않으므로 빠지는 부수 효과를 여기서 직접 처리한다.
+     * Auditing 값은 insert 전에 채우고, username 색인과 쿼리 캐시는 커밋 후에 갱신한다.
+     * MemberCountCache 는 insert SQL 을 보는 TableWriteStatementInspector 가 무효화한다.
+     */
+    private long insertStateless(Iterator<Member> members, int chunkSize, LongConsumer progress) {
+        Session session = em.unwrap(Session.class);
+        Map<Long, String> inserted = new HashMap<>();
+        // 현재 트랜잭션의 커넥션을 그대로 사용하므로 커밋/롤백은 바깥 트랜잭션을 따른다.
+        long saved = session.doReturningWork(connection -> {
+            try (StatelessSession statelessSession = session.getSessionFactory().openStatelessSession(connection)) {
+                statelessSession.setJdbcBatchSize(chunkSize);
+                long count = 0;
+                while (members.hasNext()) {
+                    Member member = members.next();
+                    auditingHandler.markCreated(member);
+                    statelessSession.insert(member);
+                    if (usernameIndex.isEnabled()) {
+                        inserted.put(member.getId(), member.getUsername());
+                    }
+                    count++;
+                    if (count % chunkSize == 0) {
+                        progress.accept(count);
+                    }
+                }
+                // 마지막 chunk 는 배치가 덜 찼으므로 close() 에 맡기지 않고 여기서 실행한다.
+                ((SharedSessionContractImplementor) statelessSession).getJdbcCoordinator().executeBatch();
+                if (count % chunkSize != 0) {
+                    progress.accept(count);
+                }
+                return count;
+            }
+        });
+        afterStatelessInsertCommit(session.getSessionFactory(), inserted);
+        return saved;
+    }
+
+    private void afterStatelessInsertCommit(SessionFactory sessionFactory, Map<Long, String> inserted) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                usernameIndex.putCommitted(inserted);
+                QueryCacheRegions.ALL.forEach(sessionFactory.getCache()::evictQueryRegion);
+            }
+        });
+    }
+
+    private KeysetSlice<Member> findByKeyset(MemberKeysetOrder order, Integer age, String cursor, int size) {
+        if (size < 1 || size > MAX_KEYSET_SIZE) {
+            throw new IllegalArgumentException("size 는 1 이상 " + MAX_KEYSET_SIZE + " 이하여야 합니다. size = " + size);
+        }
+        KeysetCursor after = KeysetCursor.decode(order, cursor);
+        String key = "m." + order.getAttribute();
+
+        // 결과는 트랜잭션 밖에서 MemberDto 로 바뀌므로 팀을 함께 읽는다. ToOne fetch join 이라 페이징에 안전하다.
+        StringBuilder jpql = new StringBuilder("select m from Member m left join fetch m.team where 1 = 1");
+        if (age != null) {
+            jpql.append(" and m.age = :age");
+        }
+        if (after != null && after.getKey() == null) {
+            // null 키는 가장 앞에 정렬되므로 같은 null 그룹의 뒷부분과 null 이 아닌 모든 행이 다음 대상이다.
+            jpql.append(" and ((").append(key).append(" is null and m.id > :id) or ").append(key).append(" is not null)");
+        } else if (after != null) {
+            jpql.append(" and (").append(key).append(" > :key or (").append(key).append(" = :key and m.id > :id))");
+        }
+        jpql.append(" order by ").append(key).append(" asc nulls first, m.id asc");
+
+        TypedQuery<Member> query = em.createQuery(jpql.toString(), Member.class);
+        if (age != null) {
+            query.setParameter("age", age);
+        }
+        if (after != null) {
+            query.setParameter("id", after.getId());
+            if (after.getKey() != null) {
+                query.setParameter("key", after.getKey());
+            }
+        }
+
+        List<Member> result = query.setMaxResults(size + 1)
+            .getResultList();
+
+        boolean hasNext = result.size() > size;
+        List<Member> content = hasNext ? result.subList(0, size) : result;
+        String nextCursor = hasNext ? KeysetCursor.of(order, content.get(content.size() - 1)).encode() : null;
+        return new KeysetSlice<>(content, size, hasNext, nextCursor);
+    }
 }
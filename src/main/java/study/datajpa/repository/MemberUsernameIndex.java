@@ -0,0 +1,176 @@
+package study.datajpa.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import study.datajpa.entity.Member;
+
+/**
+ * username -> member_id 메모리 색인. 기동 후 한 번 채우고, 커밋된 엔티티 insert / update / delete 이벤트로 갱신한다.
+ * <p>
+ * 벌크 SQL, 다른 노드의 쓰기, 아직 커밋되지 않은 현재 트랜잭션의 변경은 반영되지 않는다.
+ * 그래서 색인은 후보 id 만 알려주고, 실제 값은 {@link MemberRepositoryCustom#findByUsernameIndexed} 에서 엔티티로 다시 확인한다.
+ */
+@Slf4j
+@Component
+public class MemberUsernameIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+    PostCommitDeleteEventListener {
+
+    private static final int WARM_UP_FETCH_SIZE = 1000;
+
+    private final Map<String, Set<Long>> idsByUsername = new ConcurrentHashMap<>();
+    private final Map<Long, String> usernameById = new ConcurrentHashMap<>();
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager em;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private volatile boolean ready;
+
+    public MemberUsernameIndex(EntityManagerFactory entityManagerFactory,
+                               EntityManager em,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${member.username-index.enabled:false}") boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.em = em;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    // 채우는 동안 커밋된 변경을 놓치지 않도록 리스너를 먼저 등록한다.
+    @PostConstruct
+    void registerListeners() {
+        if (!enabled) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = em.createQuery("select m.id, m.username from Member m", Object[].class)
+                .setHint("org.hibernate.fetchSize", WARM_UP_FETCH_SIZE)
+                .getResultStream()) {
+                rows.forEach(row -> put((Long) row[0], (String) row[1]));
+            }
+        });
+        ready = true;
+        log.info("username 색인 적재 완료: {}건", usernameById.size());
+    }
+
+    /**
+     * @return 색인이 꺼져 있거나 아직 채워지지 않았거나 username 이 색인에 없으면 empty
+     */
+    public Optional<Set<Long>> idsOf(String username) {
+        if (!ready || username == null) {
+            return Optional.empty();
+        }
+        Set<Long> ids = idsByUsername.get(username);
+        return ids == null || ids.isEmpty() ? Optional.empty() : Optional.of(Set.copyOf(ids));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 엔티티 이벤트를 거치지 않는 insert(StatelessSession)가 커밋된 뒤 호출한다.
+     */
+    public void putCommitted(Map<Long, String> usernamesById) {
+        if (!enabled) {
+            return;
+        }
+        usernamesById.forEach(this::put);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            put(member.getId(), member.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            put(member.getId(), member.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            remove(member.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Member.class.isAssignableFrom(persister.getMappedClass());
+    }
+
+    private void put(Long id, String username) {
+        remove(id);
+        if (username == null) {
+            return;
+        }
+        usernameById.put(id, username);
+        idsByUsername.computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private void remove(Long id) {
+        String previous = usernameById.remove(id);
+        if (previous != null) {
+            idsByUsername.computeIfPresent(previous, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 파티션 구간과 파티션별로 마지막으로 커밋된 member_id 를 기록한다.
+ * 실패 후 같은 저장소와 같은 partitions 로 다시 실행하면 저장된 구간을 그대로 쓰고, 각 파티션은 체크포인트 다음부터 이어서 처리한다.
+ * 그 사이 회원이 추가 / 삭제되어 min / max 가 바뀌어도 구간은 다시 나누지 않는다.
+ */
+public interface PartitionCheckpointStore {
+
+    /**
+     * @return 처음 실행이면 비어 있다.
+     */
+    Optional<List<PartitionRange>> ranges(int partitions);
+
+    void saveRanges(int partitions, List<PartitionRange> ranges);
+
+    Optional<Long> lastProcessedId(int partitions, PartitionRange range);
+
+    void save(int partitions, PartitionRange range, long lastProcessedId);
+}
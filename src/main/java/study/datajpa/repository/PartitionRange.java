@@ -0,0 +1,24 @@
+package study.datajpa.repository;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * member_id 구간 [fromId, toId]
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class PartitionRange {
+
+    private final int index;
+    private final long fromId;
+    private final long toId;
+
+    public PartitionRange(int index, long fromId, long toId) {
+        this.index = index;
+        this.fromId = fromId;
+        this.toId = toId;
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+/**
+ * @see MemberRepositoryCustom#scanInPartitions
+ */
+@Getter
+public class PartitionedScanOptions {
+
+    private final int partitions;
+    private final int parallelism;
+    private final int chunkSize;
+    private final PartitionCheckpointStore checkpointStore;
+
+    /**
+     * @param partitions  member_id 구간을 나눌 개수
+     * @param parallelism 동시에 처리할 파티션 수. RepositoryExecutor 의 동시 실행 수를 넘는 만큼은 대기열에서 기다린다.
+     * @param chunkSize   트랜잭션 하나에서 처리할 회원 수 (체크포인트 단위)
+     */
+    public PartitionedScanOptions(int partitions, int parallelism, int chunkSize, PartitionCheckpointStore checkpointStore) {
+        if (partitions < 1 || parallelism < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("partitions, parallelism, chunkSize 는 1 이상이어야 합니다.");
+        }
+        this.partitions = partitions;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.checkpointStore = checkpointStore;
+    }
+
+    public static PartitionedScanOptions of(int partitions, int parallelism, int chunkSize) {
+        return new PartitionedScanOptions(partitions, parallelism, chunkSize, new InMemoryPartitionCheckpointStore());
+    }
+}
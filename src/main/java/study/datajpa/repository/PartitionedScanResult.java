@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import java.util.Map;
+
+import lombok.Getter;
+
+@Getter
+public class PartitionedScanResult {
+
+    private final Map<PartitionRange, Long> processedByPartition;
+    private final long processed;
+
+    public PartitionedScanResult(Map<PartitionRange, Long> processedByPartition) {
+        this.processedByPartition = processedByPartition;
+        this.processed = processedByPartition.values().stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+}
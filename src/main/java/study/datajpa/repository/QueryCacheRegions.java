@@ -0,0 +1,26 @@
+package study.datajpa.repository;
+
+import java.util.List;
+
+/**
+ * 리포지토리 메서드별 쿼리 결과 캐시 region.
+ * 메서드마다 region 을 나눠 두어 region 별 적중률을 메서드별 적중률로 볼 수 있다.
+ * 크기 제한과 만료는 application.conf 에서 region 이름으로 설정한다.
+ */
+public final class QueryCacheRegions {
+
+    public static final String MEMBER_BY_USERNAME = "query.member.findByUsername";
+    public static final String MEMBER_OPTIONAL_BY_USERNAME = "query.member.findOptionalByUsername";
+    public static final String MEMBER_BY_NAMES = "query.member.findByNames";
+    public static final String MEMBER_DTO = "query.member.findMemberDto";
+
+    public static final List<String> ALL = List.of(
+        MEMBER_BY_USERNAME,
+        MEMBER_OPTIONAL_BY_USERNAME,
+        MEMBER_BY_NAMES,
+        MEMBER_DTO
+    );
+
+    private QueryCacheRegions() {
+    }
+}
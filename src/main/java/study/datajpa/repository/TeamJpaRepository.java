@@ -2,25 +2,31 @@ package study.datajpa.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import study.datajpa.entity.Team;
 
 @Repository
+@Transactional(readOnly = true)
 public class TeamJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Team save(Team team) {
         em.persist(team);
         return team;
     }
 
+    @Transactional
     public void delete(Team team) {
         em.remove(team);
     }
@@ -42,4 +48,19 @@ public class TeamJpaRepository {
         return em.createQuery("select t from Team t", Team.class)
             .getResultList();
     }
+
+    /**
+     * forward-only 커서로 팀을 읽으며 처리가 끝난 팀은 영속성 컨텍스트에서 분리한다.
+     */
+    public void forEachTeam(int fetchSize, Consumer<Team> action) {
+        try (Stream<Team> teams = em.createQuery("select t from Team t", Team.class)
+            .setHint("org.hibernate.fetchSize", fetchSize)
+            .setHint("org.hibernate.readOnly", true)
+            .getResultStream()) {
+            teams.forEach(team -> {
+                action.accept(team);
+                em.detach(team);
+            });
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package study.datajpa.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import study.datajpa.entity.Team;
+
+/**
+ * 컬렉션 fetch join 에 페이징을 걸면 Hibernate 는 전체를 읽어 메모리에서 자른다.
+ * 대신 팀 id 만 먼저 페이징하고, 그 id 들에 대해서만 회원을 fetch join 해서 메모리 사용량을 페이지 크기로 제한한다.
+ */
+public interface TeamRepositoryCustom {
+
+    /**
+     * OFFSET 으로 팀 id 를 페이징한다. 정렬은 Team 속성 기준이며 id 페이지의 순서를 그대로 유지한다.
+     */
+    Page<Team> findAllWithMembers(Pageable pageable);
+
+    /**
+     * team_id 기준 keyset 페이징. lastTeamId 가 null 이면 첫 페이지를 조회한다.
+     */
+    Slice<Team> findAllWithMembersAfter(Long lastTeamId, int size);
+}
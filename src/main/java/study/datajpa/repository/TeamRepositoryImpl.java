@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import study.datajpa.entity.Team;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private final EntityManager em;
+
+    @Override
+    public Page<Team> findAllWithMembers(Pageable pageable) {
+        // 정렬 값이 같은 팀이 페이지 경계에서 빠지거나 겹치지 않도록 t.id 를 항상 마지막 정렬 기준으로 둔다.
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        String jpql = QueryUtils.applySorting("select t.id from Team t", sort, "t");
+        List<Long> ids = em.createQuery(jpql, Long.class)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        return PageableExecutionUtils.getPage(fetchWithMembers(ids), pageable, () ->
+            em.createQuery("select count(t) from Team t", Long.class)
+                .getSingleResult());
+    }
+
+    @Override
+    public Slice<Team> findAllWithMembersAfter(Long lastTeamId, int size) {
+        TypedQuery<Long> query = lastTeamId == null
+            ? em.createQuery("select t.id from Team t order by t.id", Long.class)
+            : em.createQuery("select t.id from Team t where t.id > :lastTeamId order by t.id", Long.class)
+                .setParameter("lastTeamId", lastTeamId);
+        List<Long> ids = query.setMaxResults(size + 1).getResultList();
+
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+        return new SliceImpl<>(fetchWithMembers(pageIds), PageRequest.ofSize(size), hasNext);
+    }
+
+    private List<Team> fetchWithMembers(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Team> teams = em.createQuery(
+                "select distinct t from Team t left join fetch t.members where t.id in :ids", Team.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(Team::getId, Function.identity(), (first, duplicate) -> first));
+
+        // IN 절 조회는 순서를 보장하지 않으므로 id 페이지 순서로 되돌린다.
+        return ids.stream()
+            .map(teams::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+}
@@ -2,6 +2,10 @@ package study.datajpa.repository;
 
 import org.springframework.beans.factory.annotation.Value;
 
+/**
+ * 열린(open) 프로젝션이라 엔티티 전체를 읽고 getter 호출마다 SpEL 을 평가한다.
+ * 많은 행을 읽을 때는 같은 값을 SQL 에서 만드는 {@link MemberRepository#findUsernameOnlyByUsername} 를 사용한다.
+ */
 public interface UsernameOnly {
 
     @Value("#{target.username + ' ' + target.age}")
@@ -0,0 +1,113 @@
+package study.datajpa.benchmark;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+/**
+ * ./gradlew benchmark -Dbenchmark.members=100000
+ * 매핑이 bare @GeneratedValue 였을 때와 블록 할당 + JDBC 배치를 쓸 때의 초당 insert 건수를 비교한다.
+ * 블록 크기는 컨텍스트 시작 시점에 정해지므로 경우마다 컨텍스트를 새로 띄운다 (ddl-auto 로 스키마도 새로 만든다).
+ * 모든 insert 는 트랜잭션을 롤백하므로 DB 에 데이터가 남지 않는다.
+ */
+@Tag("benchmark")
+class MemberInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberInsertBenchmarkTest.class);
+
+    private static final int MEMBER_COUNT = Integer.getInteger("benchmark.members", 20_000);
+    private static final int MEMBERS_PER_TEAM = 100;
+    private static final int FLUSH_SIZE = 1_000;
+
+    /**
+     * Hibernate 6 의 bare @GeneratedValue: 엔티티별 시퀀스, increment 50, JDBC 배치 없음.
+     */
+    private static final String[] BARE_GENERATED_VALUE = {
+        "id-allocation.block-size=50",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=1"
+    };
+
+    /**
+     * application.yml 설정 그대로: id-allocation.block-size 와 같은 크기의 JDBC 배치.
+     */
+    private static final String[] CONFIGURED = {};
+
+    @DisplayName("회원 대량 insert: bare @GeneratedValue vs 블록 할당 + JDBC 배치")
+    @Test
+    void insertThroughput() {
+        double before = measure(BARE_GENERATED_VALUE);
+        double after = measure(CONFIGURED);
+
+        log.info("members = {}, bare @GeneratedValue : {} rows/sec, block allocation + batch : {} rows/sec (x{})",
+            MEMBER_COUNT, Math.round(before), Math.round(after), String.format("%.1f", after / before));
+        assertThat(before).isPositive();
+        assertThat(after).isPositive();
+    }
+
+    /**
+     * @return 워밍업 후 측정한 초당 insert 행 수 (회원 + 팀)
+     */
+    private double measure(String... properties) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jmx.enabled=false",
+                "decorator.datasource.p6spy.enable-logging=false")
+            .properties(properties)
+            .run()) {
+            EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            // warm up
+            insert(em, transactionTemplate, 1_000);
+            return insert(em, transactionTemplate, MEMBER_COUNT);
+        }
+    }
+
+    private double insert(EntityManager em, TransactionTemplate transactionTemplate, int memberCount) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+
+            long start = System.nanoTime();
+            Team team = null;
+            int rows = 0;
+            for (int i = 0; i < memberCount; i++) {
+                if (i % MEMBERS_PER_TEAM == 0) {
+                    team = new Team("team" + i);
+                    em.persist(team);
+                    rows++;
+                }
+                Member member = new Member("member" + i, i % 100);
+                member.setTeam(team);
+                em.persist(member);
+                rows++;
+
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+            long elapsed = System.nanoTime() - start;
+            return rows / (elapsed / 1_000_000_000.0);
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package study.datajpa.config.datasource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 두 개의 내장 H2 에 각자 이름을 넣어 두고 어느 쪽에서 읽었는지 확인한다.
+class ReadWriteRoutingDataSourceTest {
+
+    private ReplicationLagGuard guard;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        guard = new ReplicationLagGuard(Duration.ofMinutes(1));
+        DataSource routing = new ReadWriteRoutingDataSource(node("primary"), node("replica"), guard);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.clear();
+    }
+
+    @DisplayName("읽기 전용 트랜잭션은 replica, 쓰기 트랜잭션과 트랜잭션 밖 호출은 primary 로 보낸다")
+    @Test
+    void routeByTransactionReadOnly() {
+        // when
+        String readOnly = readOnlyTransaction.execute(status -> currentNode());
+        String readWrite = readWriteTransaction.execute(status -> currentNode());
+        String nonTransactional = currentNode();
+
+        // then
+        assertThat(readOnly).isEqualTo("replica");
+        assertThat(readWrite).isEqualTo("primary");
+        assertThat(nonTransactional).isEqualTo("primary");
+    }
+
+    @DisplayName("쓰기 직후에는 읽기 전용 트랜잭션도 primary 에서 읽는다")
+    @Test
+    void readYourWrites() {
+        // given
+        guard.onTableWrite("member");
+
+        // when
+        String afterWrite = readOnlyTransaction.execute(status -> currentNode());
+        guard.restore(System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+        String afterWindow = readOnlyTransaction.execute(status -> currentNode());
+
+        // then
+        assertThat(afterWrite).isEqualTo("primary");
+        assertThat(afterWindow).isEqualTo("replica");
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
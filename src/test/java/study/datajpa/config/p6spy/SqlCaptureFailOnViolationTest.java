@@ -0,0 +1,79 @@
+package study.datajpa.config.p6spy;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.repository.MemberRepository;
+
+// 테스트 트랜잭션 없이 실제로 커밋 / 롤백한다.
+@SpringBootTest(properties = {
+    "sql-capture.enabled=true",
+    "sql-capture.fail-on-violation=true",
+    "sql-capture.statement-budget=2"
+})
+class SqlCaptureFailOnViolationTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlCaptureReporter reporter;
+
+    @DisplayName("허용치를 넘긴 트랜잭션은 커밋 직전에 실패한다")
+    @Test
+    void failBeforeCommit() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when & then
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> executeStatements(3)))
+            .isInstanceOf(SqlStatementBudgetExceededException.class)
+            .hasMessageContaining("허용치 2 건");
+    }
+
+    @DisplayName("롤백된 트랜잭션의 위반은 기록해 두었다가 꺼낼 수 있다")
+    @Test
+    void recordViolationOnRollback() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            executeStatements(3);
+        });
+
+        // then
+        assertThat(reporter.takeViolations())
+            .singleElement()
+            .isInstanceOf(SqlStatementBudgetExceededException.class);
+    }
+
+    @DisplayName("허용치 안의 트랜잭션은 그대로 커밋한다")
+    @Test
+    void commitWithinBudget() {
+        // given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> executeStatements(2));
+
+        // then
+        assertThat(reporter.takeViolations()).isEmpty();
+    }
+
+    private void executeStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            memberRepository.count();
+        }
+    }
+}
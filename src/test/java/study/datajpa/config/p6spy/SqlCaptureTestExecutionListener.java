@@ -0,0 +1,39 @@
+package study.datajpa.config.p6spy;
+
+import java.util.List;
+
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+/**
+ * 테스트 트랜잭션은 롤백되므로 SQL 위반이 예외로 전달되지 않는다.
+ * 롤백이 끝난 뒤 기록된 위반을 꺼내 테스트를 실패시킨다.
+ */
+public class SqlCaptureTestExecutionListener implements TestExecutionListener {
+
+    // after* 콜백은 역순으로 호출되므로 트랜잭션 리스너보다 앞에 두어야 롤백 이후에 실행된다.
+    private static final int ORDER = new TransactionalTestExecutionListener().getOrder() - 100;
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        if (!testContext.hasApplicationContext()) {
+            return;
+        }
+        SqlCaptureReporter reporter = testContext.getApplicationContext()
+            .getBeanProvider(SqlCaptureReporter.class)
+            .getIfAvailable();
+        if (reporter == null) {
+            return;
+        }
+        List<SqlStatementBudgetExceededException> violations = reporter.takeViolations();
+        if (!violations.isEmpty()) {
+            throw violations.get(0);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,52 @@
+package study.datajpa.config.p6spy;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SqlMetricsRegistryTest {
+
+    private final SqlMetricsRegistry registry = new SqlMetricsRegistry();
+
+    @DisplayName("fingerprint 가 500 개를 넘으면 나머지는 other 로 모은다")
+    @Test
+    void overflowGoesToOther() {
+        // given
+        int fingerprints = 501;
+
+        // when
+        recordDistinctStatements(fingerprints);
+
+        // then
+        assertThat(registry.snapshots()).hasSize(fingerprints);
+        assertThat(registry.snapshots())
+            .filteredOn(snapshot -> snapshot.getFingerprint().equals(SqlMetricsRegistry.OTHER))
+            .singleElement()
+            .extracting(SqlStatementSnapshot::getCount)
+            .isEqualTo(1L);
+    }
+
+    @DisplayName("reset 은 other 까지 비우고 fingerprint 자리를 다시 쓸 수 있게 한다")
+    @Test
+    void resetClearsOtherAndFreesSlots() {
+        // given
+        recordDistinctStatements(501);
+
+        // when
+        registry.reset();
+        assertThat(registry.snapshots()).isEmpty();
+        registry.metricsFor("select c1000 from t").recordExecution(1_000_000, false);
+
+        // then
+        assertThat(registry.snapshots())
+            .extracting(SqlStatementSnapshot::getFingerprint)
+            .containsExactly("select c1000 from t");
+    }
+
+    private void recordDistinctStatements(int count) {
+        for (int i = 0; i < count; i++) {
+            registry.metricsFor("select c" + i + " from t").recordExecution(1_000_000, false);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package study.datajpa.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// virtual 프로필처럼 open-in-view 를 끄고, 테스트 트랜잭션 없이 실제로 커밋된 데이터로 요청한다.
+@SpringBootTest(properties = "spring.jpa.open-in-view=false")
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Team team = teamRepository.save(new Team("team" + i));
+            memberRepository.save(new Member("member" + i, 10, team));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("대시보드는 트랜잭션이 끝난 뒤에도 팀 이름을 포함한 회원 목록을 돌려준다")
+    @Test
+    void dashboard() throws Exception {
+        MvcResult result = mockMvc.perform(get("/members/dashboard").param("age", "10"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.membersByAge.content[*].teamName", containsInAnyOrder("team0", "team1", "team2")))
+            .andExpect(jsonPath("$.totalMembers").value(3));
+    }
+
+    @DisplayName("cursor 목록은 open-in-view 없이도 팀 이름을 채운다")
+    @Test
+    void listByCursor() throws Exception {
+        mockMvc.perform(get("/members").param("cursor", "").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[*].teamName", contains("team0", "team1")))
+            .andExpect(jsonPath("$.hasNext").value(true))
+            .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @DisplayName("회원 목록은 team.name 으로 정렬할 수 있다")
+    @Test
+    void listSortedByTeamName() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "team.name,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content[*].teamName", contains("team2", "team1", "team0")));
+    }
+
+    @DisplayName("정렬할 수 없는 속성은 400 으로 응답한다")
+    @Test
+    void listSortedByUnknownProperty() throws Exception {
+        mockMvc.perform(get("/members").param("sort", "password"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("잘못된 cursor 는 400 으로 응답한다")
+    @Test
+    void listByMalformedCursor() throws Exception {
+        mockMvc.perform(get("/members").param("cursor", "@@@"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @DisplayName("범위를 벗어난 size 는 400 으로 응답한다")
+    @Test
+    void listByCursorWithOutOfRangeSize() throws Exception {
+        mockMvc.perform(get("/members").param("cursor", "").param("size", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members").param("cursor", "").param("size", "5000"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.controller;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+// 내보내기는 비동기 스레드의 트랜잭션에서 읽으므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    private Long memberAId;
+    private Long memberBId;
+
+    @BeforeEach
+    void setUp() {
+        Team team = teamRepository.save(new Team("teamA"));
+        memberAId = memberRepository.save(new Member("memberA", 10, team)).getId();
+        memberBId = memberRepository.save(new Member("member,\"B\"", 20)).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+        teamRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("NDJSON 내보내기는 한 줄에 회원 하나씩, 줄 앞에 공백 없이 쓴다")
+    @Test
+    void exportNdjson() throws Exception {
+        // when
+        String body = export("NDJSON");
+
+        // then
+        assertThat(body).endsWith("\n");
+        assertThat(body.split("\n")).containsExactlyInAnyOrder(
+            "{\"id\":" + memberAId + ",\"username\":\"memberA\",\"teamName\":\"teamA\"}",
+            "{\"id\":" + memberBId + ",\"username\":\"member,\\\"B\\\"\",\"teamName\":null}");
+    }
+
+    @DisplayName("CSV 내보내기는 헤더 다음에 회원을 쓰고 구분자가 들어간 값은 따옴표로 감싼다")
+    @Test
+    void exportCsv() throws Exception {
+        // when
+        String body = export("CSV");
+
+        // then
+        String[] lines = body.split("\n");
+        assertThat(lines[0]).isEqualTo("id,username,teamName");
+        assertThat(lines).hasSize(3);
+        assertThat(lines).contains(
+            memberAId + ",memberA,teamA",
+            memberBId + ",\"member,\"\"B\"\"\",");
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/members/export").param("format", format))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8);
+    }
+}
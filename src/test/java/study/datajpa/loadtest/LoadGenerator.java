@@ -0,0 +1,122 @@
+package study.datajpa.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 고정된 수의 가상 사용자가 쉬지 않고(closed model) 요청을 보내며 지연 시간을 HDR 히스토그램(µs)에 기록한다.
+ * HttpClient 가 쓰는 스레드 풀을 가지고 있으므로 다 쓰면 닫는다.
+ */
+class LoadGenerator implements AutoCloseable {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ExecutorService clientExecutor;
+    private final HttpClient client;
+    private final int concurrency;
+
+    LoadGenerator(int concurrency) {
+        this.concurrency = concurrency;
+        this.clientExecutor = Executors.newFixedThreadPool(concurrency);
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+    }
+
+    /**
+     * 결과를 버리고 부하만 준다. 모든 요청이 끝난 뒤에 돌아오므로 이후의 측정과 겹치지 않는다.
+     *
+     * @param uriFactory 난수를 받아 요청할 URI 를 만든다.
+     */
+    void warmUp(Function<ThreadLocalRandom, URI> uriFactory, Duration warmup) throws InterruptedException {
+        drive(uriFactory, warmup, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3), new LongAdder());
+    }
+
+    /**
+     * @param uriFactory 난수를 받아 요청할 URI 를 만든다.
+     */
+    LoadResult run(String name, Function<ThreadLocalRandom, URI> uriFactory, Duration duration) throws InterruptedException {
+        Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder errors = new LongAdder();
+        long start = System.nanoTime();
+        drive(uriFactory, duration, histogram, errors);
+        long elapsed = System.nanoTime() - start;
+        return new LoadResult(name, concurrency, histogram, errors.sum(), elapsed);
+    }
+
+    private void drive(Function<ThreadLocalRandom, URI> uriFactory, Duration duration, Histogram histogram, LongAdder errors)
+        throws InterruptedException {
+        ExecutorService users = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(users.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = HttpRequest.newBuilder(uriFactory.apply(ThreadLocalRandom.current()))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.increment();
+                        }
+                    } catch (IOException e) {
+                        errors.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    histogram.recordValue(Math.min((System.nanoTime() - begin) / 1_000, HIGHEST_TRACKABLE_MICROS));
+                }
+            }));
+        }
+        users.shutdown();
+        try {
+            users.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            users.shutdownNow();
+        }
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+
+    record LoadResult(String name, int concurrency, Histogram histogram, long errors, long elapsedNanos) {
+
+        double throughput() {
+            return histogram.getTotalCount() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1_000.0;
+        }
+
+        double maxMillis() {
+            return histogram.getMaxValue() / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package study.datajpa.loadtest;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.config.p6spy.SqlMetricsRegistry;
+import study.datajpa.config.p6spy.SqlStatementSnapshot;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+/**
+ * ./gradlew loadTest -Dloadtest.concurrency=32 -Dloadtest.duration=30 -Dloadtest.slo.p99-ms=50
+ * 엔드포인트별로 차례대로 부하를 주고 처리량, 지연 시간 분포, 요청당 SQL 실행 수를 출력한다.
+ * p99 가 SLO 를 넘거나 처리량이 최소치에 못 미치면 실패한다.
+ */
+@Tag("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "decorator.datasource.p6spy.enable-logging=false",
+        "logging.level.root=warn"
+    })
+class MemberControllerLoadTest {
+
+    private static final int TEAM_COUNT = 100;
+    private static final int MEMBER_COUNT = 10_000;
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 3));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 10));
+    private static final double SLO_P99_MILLIS = Double.parseDouble(System.getProperty("loadtest.slo.p99-ms", "200"));
+    private static final double SLO_MIN_THROUGHPUT = Double.parseDouble(System.getProperty("loadtest.slo.min-rps", "0"));
+
+    @LocalServerPort
+    private int port;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SqlMetricsRegistry sqlMetricsRegistry;
+
+    private static final Logger log = LoggerFactory.getLogger(MemberControllerLoadTest.class);
+
+    private final List<String> report = new ArrayList<>();
+    private long firstMemberId;
+
+    @BeforeAll
+    void seed() {
+        firstMemberId = new TransactionTemplate(transactionManager).execute(status -> {
+            Team[] teams = new Team[TEAM_COUNT];
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                teams[i] = new Team("team" + i);
+                em.persist(teams[i]);
+            }
+            long firstId = 0;
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                Member member = new Member("member" + i, i % 50);
+                member.setTeam(teams[i % TEAM_COUNT]);
+                em.persist(member);
+                if (i == 0) {
+                    firstId = member.getId();
+                }
+                if ((i + 1) % 1_000 == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            return firstId;
+        });
+    }
+
+    @DisplayName("GET /members/{id}")
+    @Test
+    void findMember() throws InterruptedException {
+        run("GET /members/{id}", random -> uri("/members/" + randomMemberId(random)));
+    }
+
+    @DisplayName("GET /members2/{id}")
+    @Test
+    void findMember2() throws InterruptedException {
+        run("GET /members2/{id}", random -> uri("/members2/" + randomMemberId(random)));
+    }
+
+    @DisplayName("GET /members?page=&size=")
+    @Test
+    void list() throws InterruptedException {
+        run("GET /members?page=&size=20", random -> uri("/members?page=" + random.nextInt(MEMBER_COUNT / 20) + "&size=20"));
+    }
+
+    @AfterAll
+    void printReport() {
+        String header = String.format("%-26s %6s %10s %9s %9s %9s %9s %8s %10s",
+            "endpoint", "users", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)", "errors", "sql/req");
+        log.info("부하 테스트 결과\n{}\n{}", header, String.join("\n", report));
+    }
+
+    private void run(String name, Function<ThreadLocalRandom, URI> uriFactory) throws InterruptedException {
+        LoadGenerator.LoadResult result;
+        long statements;
+        try (LoadGenerator generator = new LoadGenerator(CONCURRENCY)) {
+            generator.warmUp(uriFactory, WARMUP);
+            long statementsBefore = executedStatements();
+            result = generator.run(name, uriFactory, DURATION);
+            statements = executedStatements() - statementsBefore;
+        }
+
+        long requests = result.histogram().getTotalCount();
+        double statementsPerRequest = requests == 0 ? 0 : (double) statements / requests;
+        report.add(String.format("%-26s %6d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %10.2f",
+            name, result.concurrency(), result.throughput(),
+            result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+            result.maxMillis(), result.errors(), statementsPerRequest));
+
+        assertThat(result.errors()).isZero();
+        assertThat(result.percentileMillis(99)).isLessThanOrEqualTo(SLO_P99_MILLIS);
+        assertThat(result.throughput()).isGreaterThanOrEqualTo(SLO_MIN_THROUGHPUT);
+    }
+
+    private long executedStatements() {
+        return sqlMetricsRegistry.snapshots().stream()
+            .mapToLong(SqlStatementSnapshot::getCount)
+            .sum();
+    }
+
+    private long randomMemberId(ThreadLocalRandom random) {
+        return firstMemberId + random.nextInt(MEMBER_COUNT);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,78 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import study.datajpa.config.p6spy.SqlCapture;
+import study.datajpa.config.p6spy.SqlCaptureScope;
+import study.datajpa.dto.MemberDto;
+
+@Transactional
+@SpringBootTest
+class MemberDtoQueryRepositoryTest {
+
+    @Autowired
+    private MemberDtoQueryRepository memberDtoQueryRepository;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @DisplayName("회원 목록 API 는 페이지 크기와 상관없이 content, count 2번으로 끝나고 엔티티를 만들지 않는다")
+    @Test
+    void memberListStatementCount() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 10, 10);
+
+        // when
+        int statementCount;
+        Page<MemberDto> page;
+        try (SqlCaptureScope scope = SqlCapture.open("memberList")) {
+            page = memberDtoQueryRepository.findPage(PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "teamName")));
+            statementCount = scope.getStatementCount();
+        }
+
+        // then
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getContent()).extracting("teamName").doesNotContainNull();
+        assertThat(page.getContent().get(0).getTeamName()).isEqualTo("team9");
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(statementCount).isEqualTo(2);
+    }
+
+    @DisplayName("목록 정렬은 허용한 속성만 받는다")
+    @Test
+    void memberListRejectsUnknownSort() {
+        assertThatThrownBy(() -> memberDtoQueryRepository.findPage(PageRequest.of(0, 10, Sort.by("password"))))
+            .isInstanceOf(InvalidDataAccessApiUsageException.class)
+            .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("team.name 은 teamName 과 같은 정렬로 받는다")
+    @Test
+    void memberListSortByTeamNamePath() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 3, 2);
+
+        // when
+        List<MemberDto> byPath = memberDtoQueryRepository.findContent(PageRequest.of(0, 6, Sort.by(Sort.Direction.DESC, "team.name")));
+        List<MemberDto> byName = memberDtoQueryRepository.findContent(PageRequest.of(0, 6, Sort.by(Sort.Direction.DESC, "teamName")));
+
+        // then
+        assertThat(byPath).extracting("teamName").containsExactly("team2", "team2", "team1", "team1", "team0", "team0");
+        assertThat(byPath).extracting("id").isEqualTo(byName.stream().map(MemberDto::getId).toList());
+    }
+}
@@ -0,0 +1,70 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import study.datajpa.config.jpa.OptimisticLockRetryExecutor;
+import study.datajpa.entity.Member;
+
+// 충돌은 커밋 시점에 나므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@SpringBootTest
+class MemberOptimisticLockTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OptimisticLockRetryExecutor retryExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("버전 충돌이 나면 새 트랜잭션에서 최신 값을 다시 읽어 갱신한다")
+    @Test
+    void retryOnVersionConflict() {
+        // given
+        Long memberId = memberRepository.save(new Member("member1", 10)).getId();
+        TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+        concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        double conflictsBefore = meterRegistry.counter("optimistic.lock.conflicts", "entity", "Member").count();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        retryExecutor.execute(Member.class, () -> {
+            Member member = memberRepository.findById(memberId).get();
+            if (attempts.incrementAndGet() == 1) {
+                concurrentTransaction.executeWithoutResult(status ->
+                    memberRepository.findById(memberId).get().setAge(20));
+            }
+            member.setAge(member.getAge() + 1);
+            return member;
+        });
+
+        // then
+        Member member = memberRepository.findById(memberId).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(member.getAge()).isEqualTo(21);
+        assertThat(member.getVersion()).isEqualTo(2L);
+        assertThat(meterRegistry.counter("optimistic.lock.conflicts", "entity", "Member").count())
+            .isEqualTo(conflictsBefore + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import study.datajpa.entity.Member;
+
+// 파티션은 각자 트랜잭션을 열고 읽으므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@SpringBootTest
+class MemberPartitionedScanTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("파티션 스캔은 공용 RepositoryExecutor 스레드에서 모든 회원을 한 번씩 처리한다")
+    @Test
+    void scanInPartitions() {
+        // given
+        memberRepository.saveAll(IntStream.range(0, 25).mapToObj(i -> new Member("member" + i, i)).toList());
+        Set<Long> visited = ConcurrentHashMap.newKeySet();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // when
+        PartitionedScanResult result = memberRepository.scanInPartitions(PartitionedScanOptions.of(4, 2, 5),
+            member -> {
+                visited.add(member.getId());
+                threads.add(Thread.currentThread().getName());
+            });
+
+        // then
+        assertThat(result.getProcessed()).isEqualTo(25);
+        assertThat(visited).hasSize(25);
+        assertThat(threads).isNotEmpty().hasSizeLessThanOrEqualTo(2).allMatch(name -> name.startsWith("repository-"));
+    }
+
+    @DisplayName("재실행은 처음 나눈 구간을 그대로 써서 회원이 추가 / 삭제되어도 커밋된 chunk 를 다시 처리하지 않는다")
+    @Test
+    void resumeFromCheckpointAfterMembersChange() {
+        // given
+        List<Long> ids = memberRepository.saveAll(IntStream.range(0, 20).mapToObj(i -> new Member("member" + i, i)).toList())
+            .stream()
+            .map(Member::getId)
+            .sorted()
+            .toList();
+        PartitionedScanOptions options = new PartitionedScanOptions(1, 1, 5, new InMemoryPartitionCheckpointStore());
+        // 두 번째 chunk 에서 실패하므로 첫 chunk(ids 0 ~ 4) 만 커밋된다.
+        List<Long> firstRun = new ArrayList<>();
+        assertThatThrownBy(() -> memberRepository.scanInPartitions(options, member -> {
+            if (firstRun.size() == 7) {
+                throw new IllegalStateException("fail");
+            }
+            firstRun.add(member.getId());
+        })).isInstanceOf(IllegalStateException.class);
+
+        memberRepository.deleteById(ids.get(0));
+        memberRepository.save(new Member("added", 99));
+
+        // when
+        Set<Long> secondRun = ConcurrentHashMap.newKeySet();
+        PartitionedScanResult result = memberRepository.scanInPartitions(options, member -> secondRun.add(member.getId()));
+
+        // then
+        assertThat(result.getProcessed()).isEqualTo(15);
+        assertThat(secondRun).containsExactlyInAnyOrderElementsOf(ids.subList(5, 20));
+    }
+}
@@ -0,0 +1,100 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import study.datajpa.entity.Member;
+
+// 쿼리 캐시 무효화는 커밋된 쓰기를 기준으로 하므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@SpringBootTest
+class MemberQueryCacheTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegion(QueryCacheRegions.MEMBER_BY_USERNAME);
+        sessionFactory.getStatistics().clear();
+        memberRepository.save(new Member("member1", 10));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("같은 username 으로 다시 조회하면 findByUsername region 에서 결과를 꺼낸다")
+    @Test
+    void hitOnRepeatedFindByUsername() {
+        // given
+        memberRepository.findByUsername("member1");
+
+        // when
+        memberRepository.findByUsername("member1");
+
+        // then
+        CacheRegionStatistics region = regionStatistics();
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getPutCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(1);
+    }
+
+    @DisplayName("회원을 저장하면 캐시된 결과는 무효화되고 다음 조회는 DB 에서 새로 읽는다")
+    @Test
+    void evictOnMemberWrite() {
+        // given
+        memberRepository.findByUsername("member1");
+
+        // when
+        memberRepository.save(new Member("member1", 20));
+
+        // then
+        assertThat(memberRepository.findByUsername("member1")).extracting("age").containsExactlyInAnyOrder(10, 20);
+        CacheRegionStatistics region = regionStatistics();
+        assertThat(region.getHitCount()).isZero();
+        assertThat(region.getPutCount()).isEqualTo(2);
+    }
+
+    @DisplayName("region 별 적중률을 hibernate.query.cache.hit.ratio 로 노출한다")
+    @Test
+    void exposeHitRatio() {
+        // given
+        memberRepository.findByUsername("member1");
+
+        // when
+        memberRepository.findByUsername("member1");
+        memberRepository.findByUsername("member1");
+
+        // then
+        double hitRatio = meterRegistry.get("hibernate.query.cache.hit.ratio")
+            .tag("region", QueryCacheRegions.MEMBER_BY_USERNAME)
+            .gauge()
+            .value();
+        assertThat(hitRatio).isEqualTo(2.0 / 3);
+    }
+
+    private CacheRegionStatistics regionStatistics() {
+        return sessionFactory.getStatistics().getQueryRegionStatistics(QueryCacheRegions.MEMBER_BY_USERNAME);
+    }
+}
@@ -2,20 +2,31 @@ package study.datajpa.repository;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import study.datajpa.config.p6spy.NPlusOneSuspect;
+import study.datajpa.config.p6spy.SqlCapture;
+import study.datajpa.config.p6spy.SqlCaptureScope;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
@@ -30,6 +41,12 @@ class MemberRepositoryTest {
     @Autowired
     private TeamRepository teamRepository;
 
+    @Autowired
+    private BulkOperations bulkOperations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @PersistenceContext
     private EntityManager em;
 
@@ -235,6 +252,190 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue(); // 다음 페이지 있음?
     }
 
+    @DisplayName("회원 조회 Slice 페이징은 count 쿼리 없이 다음 페이지 여부를 판단한다")
+    @Test
+    void slicePaging() {
+        // given
+        memberRepository.save(new Member("memberA", 20));
+        memberRepository.save(new Member("memberB", 20));
+        memberRepository.save(new Member("memberC", 20));
+        memberRepository.save(new Member("memberD", 20));
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Slice<Member> slice = memberRepository.findSliceByAge(20, pageRequest);
+
+        // then
+        assertThat(slice.getContent())
+            .extracting("username")
+            .containsExactly("memberD", "memberC", "memberB");
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @DisplayName("근사 count 를 사용하는 회원 조회 페이징")
+    @Test
+    void cachedCountPaging() {
+        // given
+        memberRepository.save(new Member("memberA", 20));
+        memberRepository.save(new Member("memberB", 20));
+        memberRepository.save(new Member("memberC", 20));
+        memberRepository.save(new Member("memberD", 20));
+        memberRepository.save(new Member("memberE", 20));
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<Member> page = memberRepository.findByAgeWithCachedCount(20, pageRequest);
+        memberRepository.save(new Member("memberF", 20));
+        em.flush();
+        Page<Member> afterWrite = memberRepository.findByAgeWithCachedCount(20, pageRequest);
+
+        // then
+        assertThat(page.getContent())
+            .extracting("username")
+            .containsExactly("memberE", "memberD", "memberC");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(afterWrite.getTotalElements()).isEqualTo(6);
+    }
+
+    @DisplayName("벌크 연산 후에는 캐시된 count 를 버리고 다시 센다")
+    @Test
+    void cachedCountPagingAfterBulkUpdate() {
+        // given
+        memberRepository.save(new Member("memberA", 20));
+        memberRepository.save(new Member("memberB", 20));
+        memberRepository.save(new Member("memberC", 20));
+        memberRepository.save(new Member("memberD", 21));
+        memberRepository.save(new Member("memberE", 21));
+        em.flush();
+
+        // 페이지가 가득 차야 count 를 캐시에서 가져온다.
+        PageRequest pageRequest = PageRequest.of(0, 1, Sort.by("username"));
+
+        // when
+        Page<Member> before = memberRepository.findByAgeWithCachedCount(21, pageRequest);
+        memberRepository.bulkAgePlus(20);
+        Page<Member> after = memberRepository.findByAgeWithCachedCount(21, pageRequest);
+
+        // then
+        assertThat(before.getContent()).extracting("username").containsExactly("memberD");
+        assertThat(before.getTotalElements()).isEqualTo(2);
+        assertThat(after.getContent()).extracting("username").containsExactly("memberA");
+        assertThat(after.getTotalElements()).isEqualTo(3);
+    }
+
+    @DisplayName("회원 조회 keyset 페이징")
+    @Test
+    void keysetPaging() {
+        // given
+        memberRepository.save(new Member("memberA", 20));
+        memberRepository.save(new Member("memberB", 20));
+        memberRepository.save(new Member("memberC", 20));
+        memberRepository.save(new Member("memberD", 20));
+        memberRepository.save(new Member("memberE", 20));
+        memberRepository.save(new Member("memberF", 30));
+
+        // when
+        KeysetSlice<Member> first = memberRepository.findByAgeByKeyset(20, null, 3);
+        KeysetSlice<Member> second = memberRepository.findByAgeByKeyset(20, first.getNextCursor(), 3);
+
+        // then
+        assertThat(first.getContent())
+            .extracting("username")
+            .containsExactly("memberA", "memberB", "memberC");
+        assertThat(first.isHasNext()).isTrue();
+
+        assertThat(second.getContent())
+            .extracting("username")
+            .containsExactly("memberD", "memberE");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @DisplayName("회원 스트리밍 조회는 읽고 지나간 회원을 영속성 컨텍스트에서 분리한다")
+    @Test
+    void streamAll() {
+        // given
+        memberRepository.save(new Member("member1", 10));
+        memberRepository.save(new Member("member2", 20));
+        memberRepository.save(new Member("member3", 30));
+        em.flush();
+        em.clear();
+
+        // when
+        List<Member> read = new ArrayList<>();
+        try (Stream<Member> members = memberRepository.streamAll(2)) {
+            members.forEach(read::add);
+        }
+
+        // then
+        assertThat(read).extracting("username")
+            .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(read.subList(0, 2)).noneMatch(em::contains);
+    }
+
+    @DisplayName("회원 대량 저장은 chunk 단위로 flush / clear 한다")
+    @Test
+    void saveAllInChunks() {
+        // given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        List<Long> progress = new ArrayList<>();
+
+        // when
+        long saved = memberRepository.saveAllInChunks(
+            IntStream.range(0, 25).mapToObj(i -> {
+                Member member = new Member("member" + i, i);
+                member.setTeam(teamA);
+                return member;
+            }),
+            10,
+            BulkSaveMode.PERSIST,
+            progress::add);
+
+        // then
+        assertThat(saved).isEqualTo(25);
+        assertThat(progress).containsExactly(10L, 20L, 25L);
+        assertThat(em.contains(teamA)).isFalse();
+        assertThat(memberRepository.count()).isEqualTo(25);
+    }
+
+    @DisplayName("StatelessSession 대량 저장은 마지막 chunk 까지 insert 하고 팀 FK 와 Auditing 값을 남긴다")
+    @Test
+    void saveAllInChunksStateless() {
+        // given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        em.flush();
+        List<Long> progress = new ArrayList<>();
+
+        // when
+        long saved = memberRepository.saveAllInChunks(
+            IntStream.range(0, 25).mapToObj(i -> {
+                Member member = new Member("member" + i, i);
+                member.setTeam(i % 2 == 0 ? teamA : teamB);
+                return member;
+            }),
+            10,
+            BulkSaveMode.STATELESS,
+            progress::add);
+
+        // then
+        assertThat(saved).isEqualTo(25);
+        assertThat(progress).containsExactly(10L, 20L, 25L);
+        em.clear();
+        List<Member> members = em.createQuery("select m from Member m join fetch m.team", Member.class)
+            .getResultList();
+        assertThat(members).hasSize(25);
+        assertThat(members).filteredOn(member -> member.getTeam().getId().equals(teamA.getId())).hasSize(13);
+        assertThat(members).filteredOn(member -> member.getTeam().getId().equals(teamB.getId())).hasSize(12);
+        assertThat(members).allSatisfy(member -> {
+            assertThat(member.getCreatedDate()).isNotNull();
+            assertThat(member.getCreatedBy()).isNotNull();
+        });
+    }
+
     @DisplayName("특정 나이보다 나이가 많은 회원의 나이를 1 증가")
     @Test
     void bulkAgePlus() {
@@ -262,6 +463,43 @@ class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
+    @DisplayName("벌크 연산 후 영향받은 회원만 다시 읽고 나머지는 영속성 컨텍스트에 남긴다")
+    @Test
+    void bulkOperationsReconcileAffectedEntities() {
+        // given
+        Member young = memberRepository.save(new Member("young", 10));
+        Member old = memberRepository.save(new Member("old", 30));
+        Member oldest = memberRepository.save(new Member("oldest", 50));
+        em.flush();
+
+        // when
+        int updated;
+        int updateStatements;
+        try (SqlCaptureScope scope = SqlCapture.open("bulkAgePlus")) {
+            updated = memberRepository.bulkAgePlus(20);
+            updateStatements = scope.getStatementCount();
+        }
+        Member reloadedOld;
+        int reloadStatements;
+        try (SqlCaptureScope scope = SqlCapture.open("findById")) {
+            reloadedOld = memberRepository.findById(old.getId()).get();
+            reloadStatements = scope.getStatementCount();
+        }
+        int deleted = bulkOperations.delete(Member.class, (root, query, cb) -> cb.ge(root.get("age"), 51));
+
+        // then
+        // 영향받은 id 조회, update, 영향받은 엔티티 다시 읽기 (건수와 상관없이 3번)
+        assertThat(updated).isEqualTo(2);
+        assertThat(updateStatements).isEqualTo(3);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(em.contains(young)).isTrue();
+        assertThat(young.getAge()).isEqualTo(10);
+        assertThat(em.contains(old)).isFalse();
+        assertThat(reloadStatements).isZero();
+        assertThat(reloadedOld.getAge()).isEqualTo(31);
+        assertThat(memberRepository.findById(oldest.getId())).isEmpty();
+    }
+
     @DisplayName("지연로딩 회원 조회")
     @Test
     void findMemberLazy() {
@@ -297,6 +535,78 @@ class MemberRepositoryTest {
         }
     }
 
+    @DisplayName("id 조회는 2차 캐시를 사용하고 벌크 연산 후에는 캐시를 비운다")
+    @Test
+    void secondLevelCache() {
+        // given
+        Member member = memberRepository.save(new Member("member1", 20));
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // when
+        memberRepository.findById(member.getId());
+        em.clear();
+        long hitBefore = statistics.getSecondLevelCacheHitCount();
+        memberRepository.findById(member.getId());
+        em.clear();
+        long hitAfterRepeatedRead = statistics.getSecondLevelCacheHitCount();
+
+        memberRepository.bulkAgePlus(20);
+        long missBefore = statistics.getSecondLevelCacheMissCount();
+        Member afterBulk = memberRepository.findById(member.getId()).get();
+
+        // then
+        assertThat(hitAfterRepeatedRead).isEqualTo(hitBefore + 1);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isEqualTo(missBefore + 1);
+        assertThat(afterBulk.getAge()).isEqualTo(21);
+    }
+
+    @DisplayName("반복문 안에서 반복되는 단건 조회를 N+1 로 감지한다")
+    @Test
+    void detectNPlusOne() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(memberRepository.save(new Member("member" + i, 10)).getId());
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        List<NPlusOneSuspect> suspects;
+        try (SqlCaptureScope scope = SqlCapture.open("findById")) {
+            for (Long id : ids) {
+                memberRepository.findById(id);
+            }
+            suspects = scope.findNPlusOneSuspects(3);
+        }
+
+        // then
+        assertThat(suspects).hasSize(1);
+        assertThat(suspects.get(0).getFingerprint()).contains("from member");
+        assertThat(suspects.get(0).getCaller()).isEqualTo("MemberRepository.findById");
+    }
+
+    @DisplayName("지연 로딩 팀을 배치 페치로 IN 쿼리 한 번에 읽는다")
+    @Test
+    void batchFetchMemberTeam() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 10, 10);
+
+        // when
+        int statementCount;
+        try (SqlCaptureScope scope = SqlCapture.open("findMemberCustom")) {
+            for (Member member : memberRepository.findMemberCustom()) {
+                member.getTeam().getName();
+            }
+            statementCount = scope.getStatementCount();
+        }
+
+        // then
+        assertThat(statementCount).isEqualTo(2);
+    }
+
     @DisplayName("JPA query hint")
     @Test
     void queryHint() {
@@ -363,6 +673,24 @@ class MemberRepositoryTest {
         }
     }
 
+    @DisplayName("이름과 나이를 SQL 에서 이어 붙여 엔티티를 읽지 않고 UsernameOnly 와 같은 값을 만든다")
+    @Test
+    void usernameOnlyBySqlConcat() {
+        // given
+        memberRepository.save(new Member("m1", 10));
+        memberRepository.save(new Member("m2", 20));
+        em.flush();
+        em.clear();
+
+        // when
+        List<UsernameOnlyDto> result = memberRepository.findUsernameOnlyByUsername("m1");
+        List<UsernameOnly> openProjection = memberRepository.findProjectionsByUsername("m1", UsernameOnly.class);
+
+        // then
+        assertThat(result).extracting("username").containsExactly("m1 10");
+        assertThat(openProjection).extracting(UsernameOnly::getUsername).containsExactly("m1 10");
+    }
+
     @Test
     void nativeQuery() {
         // given
@@ -405,4 +733,34 @@ class MemberRepositoryTest {
             System.out.println("memberProjection.getTeamName() = " + memberProjection.getTeamName());
         }
     }
-}
\ No newline at end of file
+
+    @DisplayName("레포지토리 메서드별로 실행된 SQL, 로딩된 엔티티, 반환 건수를 기록한다")
+    @Test
+    void repositoryInvocationMetrics() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            memberRepository.save(new Member("member" + i, 10));
+        }
+        em.flush();
+        em.clear();
+        double statementsBefore = invocationTotal("repository.invocation.statements", "findMemberCustom");
+        double entitiesBefore = invocationTotal("repository.invocation.entities.loaded", "findMemberCustom");
+        double resultsBefore = invocationTotal("repository.invocation.results", "findMemberCustom");
+
+        // when
+        memberRepository.findMemberCustom();
+
+        // then
+        assertThat(invocationTotal("repository.invocation.statements", "findMemberCustom")).isEqualTo(statementsBefore + 1);
+        assertThat(invocationTotal("repository.invocation.entities.loaded", "findMemberCustom")).isEqualTo(entitiesBefore + 3);
+        assertThat(invocationTotal("repository.invocation.results", "findMemberCustom")).isEqualTo(resultsBefore + 3);
+    }
+
+    private double invocationTotal(String name, String method) {
+        DistributionSummary summary = meterRegistry.find(name)
+            .tag("repository", "MemberRepository")
+            .tag("method", method)
+            .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+}
@@ -0,0 +1,81 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.entity.Member;
+
+// 색인은 커밋 이후에 갱신되므로 테스트 트랜잭션 없이 실제로 커밋한다.
+@SpringBootTest
+class MemberUsernameIndexTest {
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberUsernameIndex usernameIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAll();
+    }
+
+    @DisplayName("커밋된 저장, 이름 변경, 삭제가 username 색인에 반영된다")
+    @Test
+    void syncOnCommit() {
+        // given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long memberId = memberRepository.save(new Member("member1", 10)).getId();
+
+        // when
+        boolean indexedAfterSave = usernameIndex.idsOf("member1").orElseThrow().contains(memberId);
+        transaction.executeWithoutResult(status -> memberRepository.findById(memberId).get().setUsername("renamed"));
+
+        // then
+        assertThat(indexedAfterSave).isTrue();
+        assertThat(usernameIndex.idsOf("member1")).isEmpty();
+        assertThat(usernameIndex.idsOf("renamed")).contains(Set.of(memberId));
+        assertThat(memberRepository.findByUsernameIndexed("renamed"))
+            .extracting("id")
+            .containsExactly(memberId);
+
+        memberRepository.deleteById(memberId);
+        assertThat(usernameIndex.idsOf("renamed")).isEmpty();
+    }
+
+    @DisplayName("색인에 일부 id 만 있으면 username 조건 쿼리로 모두 읽는다")
+    @Test
+    void fallBackWhenIndexIsIncomplete() {
+        // given
+        Long indexedId = memberRepository.save(new Member("member1", 10)).getId();
+        // Hibernate 를 거치지 않은 insert 는 색인에 반영되지 않는다.
+        long unindexedId = 1_000_000_000L;
+        jdbcTemplate.update("insert into member (member_id, username, age, version) values (?, 'member1', 20, 0)",
+            unindexedId);
+
+        // when
+        Set<Long> indexedIds = usernameIndex.idsOf("member1").orElseThrow();
+
+        // then
+        assertThat(indexedIds).containsExactly(indexedId);
+        assertThat(memberRepository.findByUsernameIndexed("member1"))
+            .extracting("id")
+            .containsExactly(indexedId, unindexedId);
+    }
+}
@@ -0,0 +1,28 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+/**
+ * 팀 team0..team{n-1} 에 회원 member{i}-{j}(나이 j)를 membersPerTeam 명씩 저장하고 영속성 컨텍스트를 비운다.
+ * 트랜잭션 안에서 호출한다.
+ */
+final class TeamMemberFixture {
+
+    private TeamMemberFixture() {
+    }
+
+    static void saveTeamsWithMembers(EntityManager em, int teamCount, int membersPerTeam) {
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            for (int j = 0; j < membersPerTeam; j++) {
+                em.persist(new Member("member" + i + "-" + j, j, team));
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+}
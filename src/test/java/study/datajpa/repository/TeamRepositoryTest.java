@@ -0,0 +1,123 @@
+package study.datajpa.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import study.datajpa.config.p6spy.SqlCapture;
+import study.datajpa.config.p6spy.SqlCaptureScope;
+import study.datajpa.entity.Team;
+
+@Transactional
+@SpringBootTest
+class TeamRepositoryTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @DisplayName("팀 목록의 회원 컬렉션을 배치 페치로 IN 쿼리 한 번에 초기화한다")
+    @Test
+    void batchFetchTeamMembers() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 10, 10);
+
+        // when
+        int statementCount;
+        try (SqlCaptureScope scope = SqlCapture.open("teamFindAll")) {
+            for (Team team : teamRepository.findAll()) {
+                assertThat(team.getMembers()).hasSize(10);
+            }
+            statementCount = scope.getStatementCount();
+        }
+
+        // then
+        assertThat(statementCount).isEqualTo(2);
+    }
+
+    @DisplayName("팀 id 를 먼저 페이징하고 그 팀들만 회원과 함께 fetch join 으로 읽는다")
+    @Test
+    void pageTeamsWithMembers() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 5, 3);
+
+        // when
+        int statementCount;
+        Page<Team> page;
+        try (SqlCaptureScope scope = SqlCapture.open("findAllWithMembers")) {
+            page = teamRepository.findAllWithMembers(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+            page.getContent().forEach(team -> team.getMembers().size());
+            statementCount = scope.getStatementCount();
+        }
+
+        // then
+        assertThat(page.getContent()).extracting("name").containsExactly("team4", "team3");
+        assertThat(page.getContent()).allSatisfy(team -> assertThat(team.getMembers()).hasSize(3));
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(statementCount).isEqualTo(3);
+    }
+
+    @DisplayName("정렬 값이 같은 팀도 id 순으로 페이지를 나눠 빠지거나 겹치지 않는다")
+    @Test
+    void pageTeamsWithSameSortValue() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("team");
+            em.persist(team);
+            ids.add(team.getId());
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        List<Long> sortedByName = new ArrayList<>();
+        List<Long> unsorted = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            teamRepository.findAllWithMembers(PageRequest.of(page, 2, Sort.by("name")))
+                .forEach(team -> sortedByName.add(team.getId()));
+            teamRepository.findAllWithMembers(PageRequest.of(page, 2))
+                .forEach(team -> unsorted.add(team.getId()));
+        }
+
+        // then
+        assertThat(sortedByName).containsExactlyElementsOf(ids);
+        assertThat(unsorted).containsExactlyElementsOf(ids);
+    }
+
+    @DisplayName("팀 id keyset 으로 다음 페이지를 회원과 함께 읽는다")
+    @Test
+    void sliceTeamsWithMembersByKeyset() {
+        // given
+        TeamMemberFixture.saveTeamsWithMembers(em, 5, 3);
+
+        // when
+        Slice<Team> first = teamRepository.findAllWithMembersAfter(null, 2);
+        Long lastTeamId = first.getContent().get(first.getNumberOfElements() - 1).getId();
+        Slice<Team> last = teamRepository.findAllWithMembersAfter(
+            teamRepository.findAllWithMembersAfter(lastTeamId, 2).getContent().get(1).getId(), 2);
+
+        // then
+        assertThat(first.getContent()).extracting("name").containsExactly("team0", "team1");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting("name").containsExactly("team4");
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.getContent().get(0).getMembers()).hasSize(3);
+    }
+}